@@ -0,0 +1,67 @@
+package br.com.order.application.order;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Totals, mapping and validation of a single order, at the item counts seen in production.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderDomainBenchmark {
+
+    @Param({"1", "50", "500"})
+    private int items;
+
+    private Order order;
+    private List<OrderItemDTO> newItems;
+    private List<OrderItemDTO> appendedItems;
+    private OrderMapper mapper;
+
+    @Setup
+    public void setUp() {
+        order = OrderFixtures.order(1L, items);
+        newItems = OrderFixtures.itemDTOs(items);
+        // the existing items use ids 1..n, the appended ones n+1..2n, so every id is checked and none collides
+        appendedItems = newItems.stream()
+                .map(item -> new OrderItemDTO(item.getProductId() + items, item.getQuantity(), item.getPrice()))
+                .toList();
+        mapper = new OrderMapper();
+    }
+
+    @Benchmark
+    public BigDecimal recalculateTotals() {
+        order.recalculateTotals();
+        return order.getTotal();
+    }
+
+    @Benchmark
+    public OrderDTO toOrder() {
+        return mapper.toOrder(order);
+    }
+
+    @Benchmark
+    public OrderWithoutItems toOrderWithoutItems() {
+        return mapper.toOrderWithoutItems(order);
+    }
+
+    @Benchmark
+    public List<OrderItemDTO> validDuplicatedProducts() {
+        OrderServiceImpl.validDuplicatedProducts(Collections.emptyList(), newItems);
+        return newItems;
+    }
+
+    @Benchmark
+    public List<OrderItemDTO> validDuplicatedProductsAgainstExistingItems() {
+        OrderServiceImpl.validDuplicatedProducts(order.getItems(), appendedItems);
+        return appendedItems;
+    }
+}
@@ -0,0 +1,41 @@
+package br.com.order.application.order;
+
+import br.com.order.application.customer.Customer;
+import br.com.order.application.product.Product;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+final class OrderFixtures {
+
+    private OrderFixtures() {
+    }
+
+    static Order order(long id, int itemCount) {
+        Customer customer = new Customer("Customer " + id, "47999999999");
+        customer.setId(id);
+        List<OrderItem> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            Product product = new Product("SKU-" + i, "Product " + i, BigDecimal.valueOf(10 + i % 90, 2));
+            product.setId((long) i + 1);
+            items.add(new OrderItem(product, 1 + i % 5, product.getPrice()));
+        }
+        Order order = new Order(items, customer, BigDecimal.ONE, OrderStatus.CREATED);
+        items.forEach(item -> item.setOrder(order));
+        order.setId(id);
+        order.setVersion(0L);
+        order.setCreatedAt(LocalDateTime.of(2025, 1, 1, 12, 0));
+        order.setUpdatedAt(LocalDateTime.of(2025, 1, 1, 12, 0));
+        return order;
+    }
+
+    static List<OrderItemDTO> itemDTOs(int itemCount) {
+        List<OrderItemDTO> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            items.add(new OrderItemDTO((long) i + 1, 1, BigDecimal.TEN));
+        }
+        return items;
+    }
+}
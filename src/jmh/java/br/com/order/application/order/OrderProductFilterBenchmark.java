@@ -0,0 +1,95 @@
+package br.com.order.application.order;
+
+import br.com.order.OrderApp;
+import br.com.order.application.customer.Customer;
+import br.com.order.application.customer.CustomerRepository;
+import br.com.order.application.product.Product;
+import br.com.order.application.product.ProductRepository;
+import jakarta.persistence.criteria.Join;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counting the orders that contain a product: the EXISTS filter of {@link OrderSpecifications} against the join
+ * filter it replaced, which also counts an order once per matching item. Runs on the in-memory H2 database of the
+ * test profile, where half of the orders contain the product.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderProductFilterBenchmark {
+
+    private static final int ORDERS = 1_000;
+    private static final int ITEMS_PER_ORDER = 25;
+
+    private ConfigurableApplicationContext context;
+    private OrderRepository orderRepository;
+    private TransactionTemplate transactionTemplate;
+    private Specification<Order> joinFilter;
+    private Specification<Order> existsFilter;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(OrderApp.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("order.ingestion.workers.enabled=false", "logging.level.root=WARN")
+                .run();
+        orderRepository = context.getBean(OrderRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        Long productId = transactionTemplate.execute(status -> createDataset());
+
+        joinFilter = (root, query, cb) -> {
+            Join<Order, OrderItem> items = root.join("items");
+            return cb.equal(items.get("product").get("id"), productId);
+        };
+        existsFilter = OrderSpecifications.filterByProductId(productId);
+    }
+
+    private Long createDataset() {
+        Customer customer = context.getBean(CustomerRepository.class).save(new Customer("Customer filter", "47999999999"));
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < ITEMS_PER_ORDER; i++) {
+            products.add(new Product("SKU-FILTER-" + i, "Product " + i, BigDecimal.ONE));
+        }
+        context.getBean(ProductRepository.class).saveAll(products);
+
+        for (int o = 0; o < ORDERS; o++) {
+            Order order = new Order();
+            order.setCustomer(customer);
+            for (int i = o % 2; i < ITEMS_PER_ORDER; i++) {
+                order.addItem(new OrderItem(products.get(i), 1, BigDecimal.ONE));
+            }
+            order.recalculateTotals();
+            orderRepository.save(order);
+        }
+        return products.get(0).getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Long countWithJoin() {
+        return transactionTemplate.execute(status -> orderRepository.count(joinFilter));
+    }
+
+    @Benchmark
+    public Long countWithExists() {
+        return transactionTemplate.execute(status -> orderRepository.count(existsFilter));
+    }
+}
@@ -0,0 +1,55 @@
+package br.com.order.application.order;
+
+import br.com.order.configs.JacksonConfig;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON rendering of GET /orders/{id} (an order with n items) and GET /orders (a page of n orders), using the
+ * application's {@link ObjectMapper} configuration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderSerializationBenchmark {
+
+    @Param({"1", "50", "500"})
+    private int items;
+
+    private ObjectMapper objectMapper;
+    private OrderDTO order;
+    private Page<OrderWithoutItems> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new JacksonConfig().objectMapper();
+        OrderMapper mapper = new OrderMapper();
+        order = mapper.toOrder(OrderFixtures.order(1L, items));
+        List<OrderWithoutItems> content = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            content.add(mapper.toOrderWithoutItems(OrderFixtures.order(i + 1L, 1)));
+        }
+        page = new PageImpl<>(content, PageRequest.of(0, items), 10_000);
+    }
+
+    @Benchmark
+    public byte[] orderDTO() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(order);
+    }
+
+    @Benchmark
+    public byte[] orderPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
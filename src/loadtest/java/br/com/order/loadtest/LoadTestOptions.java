@@ -0,0 +1,97 @@
+package br.com.order.loadtest;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Command line of the load test. Options are {@code --name=value}; anything not listed here is passed on to the
+ * in-process application (for example {@code --spring.threads.virtual.enabled=true}).
+ *
+ * <ul>
+ *     <li>{@code --base-url}: drive an already running instance instead of starting one in-process</li>
+ *     <li>{@code --db}: {@code h2} (default) or {@code postgres} for the in-process application; postgres uses
+ *     the datasource and Flyway settings of {@code application.yml}</li>
+ *     <li>{@code --mix}: {@code ingest}, {@code browse}, {@code mixed} or explicit weights such as
+ *     {@code create:70,list:20,status:10}</li>
+ *     <li>{@code --concurrency}, {@code --duration}, {@code --warmup}: closed-loop workers and timings</li>
+ *     <li>{@code --products}, {@code --customers}: size of the seeded catalog</li>
+ *     <li>{@code --label}, {@code --output}: name of the run and directory of the JSON result</li>
+ * </ul>
+ */
+record LoadTestOptions(String baseUrl,
+                       String db,
+                       String mixName,
+                       Map<Operation, Integer> mix,
+                       int concurrency,
+                       Duration duration,
+                       Duration warmup,
+                       int products,
+                       int customers,
+                       String label,
+                       String output,
+                       Map<String, String> applicationProperties) {
+
+    private static final Map<String, String> PRESETS = Map.of(
+            "ingest", "create:90,list:5,status:5",
+            "browse", "create:10,list:80,status:10",
+            "mixed", "create:50,list:30,status:20"
+    );
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        Map<String, String> applicationProperties = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Invalid argument: " + arg + " (expected --name=value)");
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch (name) {
+                case "base-url", "db", "mix", "concurrency", "duration", "warmup", "products", "customers",
+                     "label", "output" -> options.put(name, value);
+                default -> applicationProperties.put(name, value);
+            }
+        }
+        String mixName = options.getOrDefault("mix", "mixed");
+        return new LoadTestOptions(
+                options.get("base-url"),
+                options.getOrDefault("db", "h2"),
+                mixName,
+                parseMix(PRESETS.getOrDefault(mixName, mixName)),
+                Integer.parseInt(options.getOrDefault("concurrency", "32")),
+                parseDuration(options.getOrDefault("duration", "30s")),
+                parseDuration(options.getOrDefault("warmup", "10s")),
+                Integer.parseInt(options.getOrDefault("products", "500")),
+                Integer.parseInt(options.getOrDefault("customers", "200")),
+                options.getOrDefault("label", mixName),
+                options.getOrDefault("output", "target/loadtest"),
+                applicationProperties);
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry: " + entry);
+            }
+            weights.put(Operation.fromName(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+
+    private static Duration parseDuration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.parse(value);
+    }
+}
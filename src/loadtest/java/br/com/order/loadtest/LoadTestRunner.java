@@ -0,0 +1,305 @@
+package br.com.order.loadtest;
+
+import br.com.order.OrderApp;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * End-to-end load generator for the order API. Starts the application in-process (H2 by default, or the
+ * Postgres configured in {@code application.yml}) unless {@code --base-url} points at a running instance, seeds
+ * products and customers through the API, then runs closed-loop workers on virtual threads over the configured
+ * operation mix. Prints a summary and writes it as JSON to {@code target/loadtest} so runs of different builds
+ * can be compared. See {@link LoadTestOptions} for the arguments.
+ */
+public class LoadTestRunner {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final int LISTED_PAGES = 50;
+    private static final int PAGE_SIZE = 20;
+
+    private final LoadTestOptions options;
+    private final OrderApiClient client;
+    private final List<Long> productIds = new ArrayList<>();
+    private final List<Long> customerIds = new ArrayList<>();
+    private final Queue<Long> createdOrders = new ConcurrentLinkedQueue<>();
+    private final Set<Long> claimedOrders = ConcurrentHashMap.newKeySet();
+    private final Operation[] schedule;
+
+    private LoadTestRunner(LoadTestOptions options, String baseUrl) {
+        this.options = options;
+        this.client = new OrderApiClient(baseUrl);
+        this.schedule = options.mix().entrySet().stream()
+                .flatMap(entry -> Collections.nCopies(entry.getValue(), entry.getKey()).stream())
+                .toArray(Operation[]::new);
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        ConfigurableApplicationContext application = null;
+        String baseUrl = options.baseUrl();
+        if (baseUrl == null) {
+            application = startApplication(options);
+            baseUrl = "http://localhost:" + application.getEnvironment().getProperty("local.server.port");
+        }
+        try {
+            new LoadTestRunner(options, baseUrl).run(baseUrl);
+        } finally {
+            if (application != null) {
+                application.close();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startApplication(LoadTestOptions options) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("server.port", "0");
+        if ("h2".equals(options.db())) {
+            properties.put("spring.datasource.url", "jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1;NON_KEYWORDS=VALUE");
+            properties.put("spring.datasource.username", "sa");
+            properties.put("spring.datasource.password", "");
+            properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+            properties.put("spring.flyway.enabled", "false");
+            properties.put("spring.jpa.hibernate.ddl-auto", "create");
+        }
+        properties.putAll(options.applicationProperties());
+        return new SpringApplicationBuilder(OrderApp.class).properties(properties).run();
+    }
+
+    private void run(String baseUrl) throws Exception {
+        seed();
+        System.out.printf("Warming up for %s against %s%n", options.warmup(), baseUrl);
+        drive(options.warmup(), newResults());
+
+        Map<Operation, OperationResult> results = newResults();
+        System.out.printf("Running %s (%s) with %d workers for %s%n", options.label(), options.mix(), options.concurrency(), options.duration());
+        long start = System.nanoTime();
+        drive(options.duration(), results);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        Map<String, Object> report = report(baseUrl, elapsed, results);
+        print(report);
+        write(report);
+    }
+
+    private void seed() throws IOException, InterruptedException {
+        String prefix = Long.toString(System.currentTimeMillis(), 36).toUpperCase();
+        for (int i = 0; i < options.products(); i++) {
+            expectCreated(client.createProduct("LT-" + prefix + "-" + i, "Load test product " + i,
+                    BigDecimal.valueOf(100 + i % 900, 2)), "product");
+        }
+        for (int i = 0; i < options.customers(); i++) {
+            expectCreated(client.createCustomer("Load test customer " + prefix + " " + i, "47999999999"), "customer");
+        }
+        collectIds("/products?search=LT-" + prefix + "-&size=100&page=", productIds, options.products());
+        collectIds("/customers?search=" + prefix + "&size=100&page=", customerIds, options.customers());
+        System.out.printf("Seeded %d products and %d customers%n", productIds.size(), customerIds.size());
+    }
+
+    private void collectIds(String pathAndQuery, List<Long> ids, int expected) throws IOException, InterruptedException {
+        for (int page = 0; ids.size() < expected; page++) {
+            OrderApiClient.Page result = client.getPage(pathAndQuery + page);
+            if (result.status() != 200 || result.content().isEmpty()) {
+                throw new IllegalStateException("Could not list seeded ids from " + pathAndQuery + " (HTTP " + result.status() + ")");
+            }
+            result.content().forEach(node -> ids.add(node.path("id").asLong()));
+        }
+    }
+
+    private static void expectCreated(int status, String what) {
+        if (status != 201) {
+            throw new IllegalStateException("Seeding " + what + " failed with HTTP " + status);
+        }
+    }
+
+    private void drive(Duration duration, Map<Operation, OperationResult> results) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < options.concurrency(); i++) {
+                workers.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < deadline) {
+                        Operation operation = schedule[random.nextInt(schedule.length)];
+                        execute(operation, random, results.get(operation));
+                    }
+                });
+            }
+        }
+    }
+
+    private void execute(Operation operation, ThreadLocalRandom random, OperationResult result) {
+        try {
+            Long orderId = null;
+            if (operation == Operation.STATUS && (orderId = claimCreatedOrder(random)) == null) {
+                return;
+            }
+            long start = System.nanoTime();
+            int status = switch (operation) {
+                case CREATE -> client.createOrder(randomCustomer(random), randomItems(random));
+                case LIST -> list(random.nextInt(LISTED_PAGES));
+                case STATUS -> client.changeStatus(orderId, "PROCESSING");
+            };
+            result.record(status, System.nanoTime() - start);
+        } catch (IOException e) {
+            result.recordFailure(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private int list(int page) throws IOException, InterruptedException {
+        OrderApiClient.Page result = client.getPage("/orders?size=" + PAGE_SIZE + "&page=" + page);
+        offerCreated(result.content());
+        return result.status();
+    }
+
+    /**
+     * Takes an order still in CREATED, refilling from the listing (outside the measured time) when the ones seen by
+     * LIST operations have all been used.
+     */
+    private Long claimCreatedOrder(ThreadLocalRandom random) throws IOException, InterruptedException {
+        for (int attempt = 0; attempt < 3; attempt++) {
+            Long orderId;
+            while ((orderId = createdOrders.poll()) != null) {
+                if (claimedOrders.add(orderId)) {
+                    return orderId;
+                }
+            }
+            offerCreated(client.getPage("/orders?status=CREATED&size=" + PAGE_SIZE + "&page=" + random.nextInt(5)).content());
+        }
+        return null;
+    }
+
+    private void offerCreated(List<JsonNode> orders) {
+        for (JsonNode order : orders) {
+            long id = order.path("id").asLong();
+            if ("CREATED".equals(order.path("status").asText()) && !claimedOrders.contains(id)) {
+                createdOrders.offer(id);
+            }
+        }
+    }
+
+    private long randomCustomer(ThreadLocalRandom random) {
+        return customerIds.get(random.nextInt(customerIds.size()));
+    }
+
+    private List<Map<String, Object>> randomItems(ThreadLocalRandom random) {
+        int count = 1 + random.nextInt(10);
+        Set<Long> chosen = new LinkedHashSet<>();
+        while (chosen.size() < Math.min(count, productIds.size())) {
+            chosen.add(productIds.get(random.nextInt(productIds.size())));
+        }
+        List<Map<String, Object>> items = new ArrayList<>(chosen.size());
+        for (Long productId : chosen) {
+            items.add(Map.of("productId", productId, "quantity", 1 + random.nextInt(5), "price", BigDecimal.TEN));
+        }
+        return items;
+    }
+
+    private Map<Operation, OperationResult> newResults() {
+        Map<Operation, OperationResult> results = new EnumMap<>(Operation.class);
+        options.mix().keySet().forEach(operation -> results.put(operation, new OperationResult()));
+        return results;
+    }
+
+    private Map<String, Object> report(String baseUrl, Duration elapsed, Map<Operation, OperationResult> results) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("label", options.label());
+        report.put("startedAt", Instant.now().minus(elapsed).toString());
+        report.put("target", options.baseUrl() != null ? baseUrl : "in-process/" + options.db());
+        report.put("applicationProperties", options.applicationProperties());
+        report.put("mix", options.mixName());
+        report.put("concurrency", options.concurrency());
+        report.put("durationSeconds", elapsed.toMillis() / 1000.0);
+
+        long total = 0;
+        Map<String, Object> operations = new LinkedHashMap<>();
+        for (Map.Entry<Operation, OperationResult> entry : results.entrySet()) {
+            operations.put(entry.getKey().key(), entry.getValue().summary(elapsed));
+            total += entry.getValue().histogram.getTotalCount();
+        }
+        report.put("requests", total);
+        report.put("throughputPerSecond", round(total / (elapsed.toNanos() / 1e9)));
+        report.put("operations", operations);
+        return report;
+    }
+
+    private static void print(Map<String, Object> report) {
+        System.out.printf("%nTotal: %s requests, %s req/s%n", report.get("requests"), report.get("throughputPerSecond"));
+        System.out.printf("%-8s %10s %10s %8s %10s %10s %10s %10s%n", "op", "count", "req/s", "errors", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        @SuppressWarnings("unchecked")
+        Map<String, Map<String, Object>> operations = (Map<String, Map<String, Object>>) report.get("operations");
+        operations.forEach((name, summary) -> System.out.printf("%-8s %10s %10s %8s %10s %10s %10s %10s%n", name,
+                summary.get("count"), summary.get("throughputPerSecond"), summary.get("errors"),
+                summary.get("p50Ms"), summary.get("p99Ms"), summary.get("p999Ms"), summary.get("maxMs")));
+    }
+
+    private void write(Map<String, Object> report) throws IOException {
+        Path directory = Path.of(options.output());
+        Files.createDirectories(directory);
+        String timestamp = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").format(LocalDateTime.now());
+        Path file = directory.resolve(options.label() + "-" + timestamp + ".json");
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+        System.out.printf("Results written to %s%n", file.toAbsolutePath());
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    private static final class OperationResult {
+        private final Histogram histogram = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+        private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+
+        void record(int status, long elapsedNanos) {
+            histogram.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(elapsedNanos), MAX_LATENCY_MICROS));
+            statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+            if (status >= 400) {
+                errors.increment();
+            }
+        }
+
+        void recordFailure(IOException e) {
+            failures.increment();
+            errors.increment();
+        }
+
+        Map<String, Object> summary(Duration elapsed) {
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("count", histogram.getTotalCount());
+            summary.put("throughputPerSecond", round(histogram.getTotalCount() / (elapsed.toNanos() / 1e9)));
+            summary.put("errors", errors.sum());
+            summary.put("ioFailures", failures.sum());
+            Map<String, Long> byStatus = new TreeMap<>();
+            statuses.forEach((status, count) -> byStatus.put(String.valueOf(status), count.sum()));
+            summary.put("statuses", byStatus);
+            summary.put("p50Ms", millis(histogram.getValueAtPercentile(50)));
+            summary.put("p99Ms", millis(histogram.getValueAtPercentile(99)));
+            summary.put("p999Ms", millis(histogram.getValueAtPercentile(99.9)));
+            summary.put("maxMs", millis(histogram.getMaxValue()));
+            return summary;
+        }
+
+        private static double millis(long micros) {
+            return round(micros / 1000.0);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package br.com.order.loadtest;
+
+import java.util.Arrays;
+
+enum Operation {
+    /** POST /orders with 1 to 10 random items. */
+    CREATE("create"),
+    /** GET /orders, a random page of 20 among the first 50. */
+    LIST("list"),
+    /** PATCH /orders/{id} moving a CREATED order to PROCESSING. */
+    STATUS("status");
+
+    private final String name;
+
+    Operation(String name) {
+        this.name = name;
+    }
+
+    String key() {
+        return name;
+    }
+
+    static Operation fromName(String name) {
+        return Arrays.stream(values())
+                .filter(operation -> operation.name.equals(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown operation: " + name));
+    }
+}
@@ -0,0 +1,83 @@
+package br.com.order.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Thin HTTP client over the public endpoints; every call returns the status code so failures are counted, not
+ * thrown.
+ */
+class OrderApiClient {
+
+    private final HttpClient http;
+    private final String baseUrl;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    OrderApiClient(String baseUrl) {
+        this.baseUrl = baseUrl;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    int createProduct(String sku, String name, BigDecimal price) throws IOException, InterruptedException {
+        return send(post("/products", Map.of("sku", sku, "name", name, "price", price))).statusCode();
+    }
+
+    int createCustomer(String name, String phone) throws IOException, InterruptedException {
+        return send(post("/customers", Map.of("name", name, "phone", phone))).statusCode();
+    }
+
+    int createOrder(long customerId, List<Map<String, Object>> items) throws IOException, InterruptedException {
+        return send(post("/orders", Map.of("customerId", customerId, "discount", BigDecimal.ZERO, "items", items))).statusCode();
+    }
+
+    int changeStatus(long orderId, String status) throws IOException, InterruptedException {
+        HttpRequest request = json("/orders/" + orderId)
+                .method("PATCH", HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(Map.of("status", status))))
+                .build();
+        return send(request).statusCode();
+    }
+
+    /**
+     * GET on a paged endpoint; returns the status code and, on success, the {@code content} array.
+     */
+    Page getPage(String pathAndQuery) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = send(HttpRequest.newBuilder(URI.create(baseUrl + pathAndQuery)).GET().build());
+        if (response.statusCode() != 200) {
+            return new Page(response.statusCode(), List.of());
+        }
+        List<JsonNode> content = new ArrayList<>();
+        objectMapper.readTree(response.body()).path("content").forEach(content::add);
+        return new Page(response.statusCode(), content);
+    }
+
+    private HttpRequest post(String path, Object body) throws IOException {
+        return json(path).POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body))).build();
+    }
+
+    private HttpRequest.Builder json(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json");
+    }
+
+    private HttpResponse<byte[]> send(HttpRequest request) throws IOException, InterruptedException {
+        return http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    record Page(int status, List<JsonNode> content) {
+    }
+}
@@ -0,0 +1,101 @@
+package br.com.order.application.admin;
+
+import br.com.order.application.customer.CustomerReferenceCache;
+import br.com.order.application.idempotency.IIdempotencyService;
+import br.com.order.application.idempotency.IdempotencyCache;
+import br.com.order.application.order.OrderLockMonitor;
+import br.com.order.application.product.ProductCache;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/admin")
+public class AdminController {
+    private final ProductCache productCache;
+    private final CustomerReferenceCache customerCache;
+    private final EntityManagerFactory entityManagerFactory;
+    private final OrderLockMonitor lockMonitor;
+    private final IdempotencyCache idempotencyCache;
+    private final IIdempotencyService idempotencyService;
+
+    @Operation(
+            summary = "Cache statistics",
+            description = "Size, hits, misses and evictions of the in-process caches, plus the Hibernate second-level "
+                    + "cache regions when it is enabled (profile l2cache)",
+            tags = {"Admin"},
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Cache statistics")
+            }
+    )
+    @GetMapping("/caches")
+    public List<CacheStatsDTO> caches() {
+        List<CacheStatsDTO> caches = new ArrayList<>(productCache.stats());
+        caches.add(customerCache.stats());
+        caches.add(idempotencyCache.stats());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (statistics.isStatisticsEnabled()) {
+            for (String region : statistics.getSecondLevelCacheRegionNames()) {
+                caches.add(CacheStatsDTO.of(region, statistics.getDomainDataRegionStatistics(region)));
+            }
+        }
+        return caches;
+    }
+
+    @Operation(
+            summary = "Order lock contention",
+            description = "Lock acquisitions, contended waits, timeouts and wait times per order operation, plus the "
+                    + "most contended order ids (approximate top-K, count may be overestimated by maxOverestimation)",
+            tags = {"Admin"},
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Lock contention statistics")
+            }
+    )
+    @GetMapping("/locks")
+    public LockStatsDTO locks(@RequestParam(defaultValue = "20") int limit) {
+        return lockMonitor.stats(limit);
+    }
+
+    @Operation(
+            summary = "Reset contended orders",
+            description = "Clears the most contended order ids to start a new observation window",
+            tags = {"Admin"},
+            responses = {
+                    @ApiResponse(responseCode = "204", description = "Contended orders cleared")
+            }
+    )
+    @DeleteMapping("/locks/hot-orders")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void resetHotOrders() {
+        lockMonitor.resetHotOrders();
+    }
+
+    @Operation(
+            summary = "Purge expired idempotency keys",
+            description = "Deletes the stored responses whose Idempotency-Key expired (order.idempotency.ttl), "
+                    + "to be called periodically to keep the key table small",
+            tags = {"Admin"},
+            responses = {
+                    @ApiResponse(responseCode = "204", description = "Expired keys deleted")
+            }
+    )
+    @DeleteMapping("/idempotency-keys/expired")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void purgeExpiredIdempotencyKeys() {
+        idempotencyService.purgeExpired();
+    }
+}
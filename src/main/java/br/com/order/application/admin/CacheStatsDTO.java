@@ -0,0 +1,41 @@
+package br.com.order.application.admin;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.stat.CacheRegionStatistics;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatsDTO implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 6201954327318846032L;
+
+    private String name;
+    private long size;
+    private long hitCount;
+    private long missCount;
+    private double hitRate;
+    private long evictionCount;
+
+    public static CacheStatsDTO of(String name, Cache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+        return new CacheStatsDTO(name, cache.estimatedSize(), stats.hitCount(), stats.missCount(),
+                stats.hitRate(), stats.evictionCount());
+    }
+
+    public static CacheStatsDTO of(String region, CacheRegionStatistics stats) {
+        long requests = stats.getHitCount() + stats.getMissCount();
+        double hitRate = requests == 0 ? 1.0 : (double) stats.getHitCount() / requests;
+        return new CacheStatsDTO("hibernate." + region, stats.getElementCountInMemory(), stats.getHitCount(),
+                stats.getMissCount(), hitRate, 0);
+    }
+}
@@ -0,0 +1,22 @@
+package br.com.order.application.admin;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class HotOrderDTO implements Serializable {
+    @Serial
+    private static final long serialVersionUID = -2619380441830757265L;
+
+    private Long orderId;
+    private long contended;
+    private long maxOverestimation;
+}
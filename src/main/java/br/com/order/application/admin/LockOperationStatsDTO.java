@@ -0,0 +1,25 @@
+package br.com.order.application.admin;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class LockOperationStatsDTO implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 4127795380125630911L;
+
+    private String operation;
+    private long acquired;
+    private long contended;
+    private long timeouts;
+    private double totalWaitMillis;
+    private double maxWaitMillis;
+}
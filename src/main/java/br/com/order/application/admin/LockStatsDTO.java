@@ -0,0 +1,23 @@
+package br.com.order.application.admin;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class LockStatsDTO implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 8832510437391762046L;
+
+    private double contentionThresholdMillis;
+    private List<LockOperationStatsDTO> operations;
+    private List<HotOrderDTO> hotOrders;
+}
@@ -0,0 +1,19 @@
+package br.com.order.application.base;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+/**
+ * Lets the repositories pick PostgreSQL-specific SQL, with a portable fallback for the other databases (e.g. H2).
+ */
+public final class Dialects {
+
+    private Dialects() {
+    }
+
+    public static boolean isPostgreSQL(EntityManager entityManager) {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+    }
+}
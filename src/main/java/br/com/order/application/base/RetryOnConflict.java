@@ -0,0 +1,17 @@
+package br.com.order.application.base;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a mutation that may be executed again, in a new transaction, when it loses a concurrency race: an
+ * optimistic conflict or a row lock that could not be acquired. The failed attempt was rolled back, so running
+ * it again has no side effects to repeat. Used by the order and idempotency services and applied by
+ * {@code OrderMutationRetryAspect}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RetryOnConflict {
+}
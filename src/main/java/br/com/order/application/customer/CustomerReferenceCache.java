@@ -0,0 +1,101 @@
+package br.com.order.application.customer;
+
+import br.com.order.application.admin.CacheStatsDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Remembers which customers exist so orders can point at them through {@link CustomerRepository#getReferenceById}
+ * instead of loading the row. Only positive lookups are cached; {@link CustomerServiceImpl} evicts on update and
+ * delete, and the TTL bounds how long another instance may keep referencing a deleted customer.
+ * Must be called inside a transaction, since references are bound to the current persistence context.
+ */
+@Component
+public class CustomerReferenceCache implements MeterBinder {
+
+    public static final String NAME = "customers";
+
+    private final CustomerRepository repository;
+    private final Cache<Long, Boolean> existing;
+
+    public CustomerReferenceCache(CustomerRepository repository,
+                                  @Value("${order.cache.customers.maximum-size:10000}") long maximumSize,
+                                  @Value("${order.cache.customers.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.repository = repository;
+        this.existing = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    public Optional<Customer> getReference(Long id) {
+        if (existing.getIfPresent(id) != null) {
+            return Optional.of(repository.getReferenceById(id));
+        }
+        Optional<Customer> customer = repository.findById(id);
+        customer.ifPresent(found -> existing.put(id, Boolean.TRUE));
+        return customer;
+    }
+
+    /**
+     * Returns references for the known customers and loads the unknown ones with a single {@code IN} query.
+     * Ids that do not exist are absent from the result.
+     */
+    public Map<Long, Customer> getReferences(Collection<Long> ids) {
+        Map<Long, Customer> customers = new HashMap<>();
+        Set<Long> unknown = new HashSet<>();
+        for (Long id : new HashSet<>(ids)) {
+            if (existing.getIfPresent(id) != null) {
+                customers.put(id, repository.getReferenceById(id));
+            } else {
+                unknown.add(id);
+            }
+        }
+        if (!unknown.isEmpty()) {
+            repository.findAllById(unknown).forEach(customer -> {
+                existing.put(customer.getId(), Boolean.TRUE);
+                customers.put(customer.getId(), customer);
+            });
+        }
+        return customers;
+    }
+
+    /**
+     * Evicts the customer right away and again once the surrounding transaction completes.
+     */
+    public void evict(Long id) {
+        existing.invalidate(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    existing.invalidate(id);
+                }
+            });
+        }
+    }
+
+    public void invalidateAll() {
+        existing.invalidateAll();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, existing, NAME);
+    }
+
+    public CacheStatsDTO stats() {
+        return CacheStatsDTO.of(NAME, existing);
+    }
+}
@@ -1,6 +1,8 @@
 package br.com.order.application.customer;
 
 import br.com.order.exceptions.NotFoundException;
+import br.com.order.configs.MetricsConfig;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -9,11 +11,13 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
 @Slf4j
 @RequiredArgsConstructor
 public class CustomerServiceImpl implements ICustomerService {
     private final CustomerRepository repository;
     private final CustomerMapper mapper;
+    private final CustomerReferenceCache customerCache;
 
     @Transactional
     @Override
@@ -29,6 +33,7 @@ public class CustomerServiceImpl implements ICustomerService {
         Customer customer = repository.findById(id).orElseThrow(() -> new NotFoundException("Customer not found"));
         mapper.update(customer, dto);
         repository.save(customer);
+        customerCache.evict(id);
     }
 
     @Transactional
@@ -46,6 +51,7 @@ public class CustomerServiceImpl implements ICustomerService {
         log.info("Deleting customer: {}", id);
         Customer customer = repository.findById(id).orElseThrow(() -> new NotFoundException("Customer not found"));
         repository.delete(customer);
+        customerCache.evict(id);
     }
 
     @Transactional(readOnly = true)
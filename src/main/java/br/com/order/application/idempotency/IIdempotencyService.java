@@ -0,0 +1,20 @@
+package br.com.order.application.idempotency;
+
+import org.springframework.http.ResponseEntity;
+
+import java.util.function.Supplier;
+
+public interface IIdempotencyService {
+
+    String IDEMPOTENCY_KEY = "Idempotency-Key";
+    String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
+    /**
+     * Runs {@code action} once per {@code scope} and key and replays its response to later requests with the same
+     * key. Without a key the action simply runs.
+     */
+    <T> ResponseEntity<T> execute(String scope, String key, Object request, Class<T> bodyType,
+                                  Supplier<ResponseEntity<T>> action);
+
+    int purgeExpired();
+}
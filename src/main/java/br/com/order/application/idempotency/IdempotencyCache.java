@@ -0,0 +1,91 @@
+package br.com.order.application.idempotency;
+
+import br.com.order.application.admin.CacheStatsDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Recently stored idempotent responses, so the retries that follow a timeout right away are answered without a
+ * query. Entries are only added after the response is committed, and each one expires at the latest when its row
+ * does, whether it was just stored or read back from the table, so a cached response never outlives its row.
+ */
+@Component
+public class IdempotencyCache implements MeterBinder {
+
+    public static final String NAME = "idempotency";
+
+    private record Entry(IdempotentResponse response, LocalDateTime expiresAt) {
+    }
+
+    private final Cache<String, Entry> responses;
+
+    public IdempotencyCache(@Value("${order.cache.idempotency.maximum-size:10000}") long maximumSize,
+                            @Value("${order.cache.idempotency.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<String, Entry>() {
+                    @Override
+                    public long expireAfterCreate(String key, Entry entry, long currentTime) {
+                        return expiresIn(entry, expireAfterWrite);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+                        return expiresIn(entry, expireAfterWrite);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Nanoseconds until the entry is evicted: {@code expireAfterWrite}, or less when the row expires sooner.
+     */
+    private static long expiresIn(Entry entry, Duration expireAfterWrite) {
+        Duration untilRowExpires = Duration.between(LocalDateTime.now(), entry.expiresAt());
+        if (untilRowExpires.isNegative()) {
+            return 0;
+        }
+        return (untilRowExpires.compareTo(expireAfterWrite) < 0 ? untilRowExpires : expireAfterWrite).toNanos();
+    }
+
+    public IdempotentResponse get(String scope, String key) {
+        Entry entry = responses.getIfPresent(cacheKey(scope, key));
+        return entry == null ? null : entry.response();
+    }
+
+    public void put(String scope, String key, IdempotentResponse response, LocalDateTime expiresAt) {
+        responses.put(cacheKey(scope, key), new Entry(response, expiresAt));
+    }
+
+    private static String cacheKey(String scope, String key) {
+        return scope + ' ' + key;
+    }
+
+    public void invalidateAll() {
+        responses.invalidateAll();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, responses, NAME);
+    }
+
+    public CacheStatsDTO stats() {
+        return CacheStatsDTO.of(NAME, responses);
+    }
+}
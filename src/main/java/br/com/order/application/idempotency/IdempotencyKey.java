@@ -0,0 +1,66 @@
+package br.com.order.application.idempotency;
+
+import br.com.order.application.base.BaseEntity;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Response of a request sent with an {@code Idempotency-Key}, stored in the same transaction as its writes and
+ * replayed to retries of the same request until {@code expiresAt}.
+ */
+@Entity
+@Table(name = "idempotency_keys",
+        uniqueConstraints = @UniqueConstraint(name = "uc_idempotency_keys_scope_key", columnNames = {"scope", "idempotency_key"}))
+@Getter
+@Setter
+@NoArgsConstructor
+public class IdempotencyKey extends BaseEntity {
+
+    public static final int MAX_KEY_LENGTH = 255;
+
+    @Column(nullable = false, length = 100)
+    private String scope;
+
+    @Column(name = "idempotency_key", nullable = false, length = MAX_KEY_LENGTH)
+    private String idempotencyKey;
+
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    @Column(name = "response_status", nullable = false)
+    private int responseStatus;
+
+    @Column(name = "response_location", length = 2048)
+    private String responseLocation;
+
+    @Column(name = "response_body", columnDefinition = "TEXT")
+    private String responseBody;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    /**
+     * Claims the key before the request runs; the response is filled in by {@link #complete} in the same transaction,
+     * so the row is never visible without it.
+     */
+    public IdempotencyKey(String scope, String idempotencyKey, String requestHash, LocalDateTime expiresAt) {
+        this.scope = scope;
+        this.idempotencyKey = idempotencyKey;
+        this.requestHash = requestHash;
+        this.expiresAt = expiresAt;
+    }
+
+    public void complete(IdempotentResponse response) {
+        this.responseStatus = response.getStatus();
+        this.responseLocation = response.getLocation();
+        this.responseBody = response.getBody();
+    }
+
+    public IdempotentResponse toResponse() {
+        return new IdempotentResponse(requestHash, responseStatus, responseLocation, responseBody);
+    }
+}
@@ -0,0 +1,165 @@
+package br.com.order.application.idempotency;
+
+import br.com.order.application.base.RetryOnConflict;
+import br.com.order.exceptions.BadRequestException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.URI;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Stores the response of a keyed request in the transaction of its writes: the key row is inserted before the action
+ * runs, the action joins the transaction opened here and the row is completed with its response, so either both
+ * commit or neither does. When two requests with the same key race, the second one blocks on the unique constraint
+ * until the first ends, then is rolled back as a whole and replays the response of the first without having run the
+ * action. Replays are served from {@link IdempotencyCache} and, past it, from the table.
+ */
+@Slf4j
+@Service
+public class IdempotencyServiceImpl implements IIdempotencyService {
+
+    public static final String INVALID_KEY = "Invalid Idempotency-Key header";
+    public static final String KEY_REUSED = "Idempotency-Key already used with a different request";
+    public static final String REPLAYS_COUNTER = "order.idempotency.replays";
+
+    private final IdempotencyKeyRepository repository;
+    private final IdempotencyCache cache;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Duration ttl;
+
+    public IdempotencyServiceImpl(IdempotencyKeyRepository repository,
+                                  IdempotencyCache cache,
+                                  TransactionTemplate transactionTemplate,
+                                  ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${order.idempotency.ttl:24h}") Duration ttl) {
+        this.repository = repository;
+        this.cache = cache;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.ttl = ttl;
+    }
+
+    private record Execution<T>(IdempotentResponse stored, LocalDateTime expiresAt, ResponseEntity<T> response) {
+    }
+
+    @RetryOnConflict
+    @Override
+    public <T> ResponseEntity<T> execute(String scope, String key, Object request, Class<T> bodyType,
+                                         Supplier<ResponseEntity<T>> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > IdempotencyKey.MAX_KEY_LENGTH) {
+            throw new BadRequestException(INVALID_KEY);
+        }
+        String requestHash = hash(request);
+
+        IdempotentResponse cached = cache.get(scope, key);
+        if (cached != null) {
+            return replay(cached, requestHash, bodyType, "cache");
+        }
+
+        Execution<T> execution;
+        try {
+            execution = transactionTemplate.execute(status -> run(scope, key, requestHash, action));
+        } catch (DataIntegrityViolationException e) {
+            IdempotencyKey row = repository.findByScopeAndIdempotencyKey(scope, key).orElseThrow(() -> e);
+            log.info("Concurrent request with Idempotency-Key {} on {} lost the race, replaying", key, scope);
+            IdempotentResponse stored = row.toResponse();
+            cache.put(scope, key, stored, row.getExpiresAt());
+            return replay(stored, requestHash, bodyType, "database");
+        }
+        cache.put(scope, key, execution.stored(), execution.expiresAt());
+        if (execution.response() == null) {
+            return replay(execution.stored(), requestHash, bodyType, "database");
+        }
+        return execution.response();
+    }
+
+    private <T> Execution<T> run(String scope, String key, String requestHash, Supplier<ResponseEntity<T>> action) {
+        LocalDateTime now = LocalDateTime.now();
+        Optional<IdempotencyKey> existing = repository.findByScopeAndIdempotencyKey(scope, key);
+        if (existing.isPresent()) {
+            if (existing.get().getExpiresAt().isAfter(now)) {
+                return new Execution<>(existing.get().toResponse(), existing.get().getExpiresAt(), null);
+            }
+            repository.delete(existing.get());
+            repository.flush();
+        }
+
+        IdempotencyKey claim = repository.saveAndFlush(new IdempotencyKey(scope, key, requestHash, now.plus(ttl)));
+        ResponseEntity<T> response = action.get();
+        IdempotentResponse stored = new IdempotentResponse(requestHash, response.getStatusCode().value(),
+                response.getHeaders().getLocation() == null ? null : response.getHeaders().getLocation().toString(),
+                response.getBody() == null ? null : write(response.getBody()));
+        claim.complete(stored);
+        repository.saveAndFlush(claim);
+        return new Execution<>(stored, claim.getExpiresAt(), response);
+    }
+
+    private <T> ResponseEntity<T> replay(IdempotentResponse stored, String requestHash, Class<T> bodyType, String source) {
+        if (!stored.getRequestHash().equals(requestHash)) {
+            throw new BadRequestException(KEY_REUSED);
+        }
+        meterRegistry.counter(REPLAYS_COUNTER, "source", source).increment();
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(stored.getStatus())
+                .header(IDEMPOTENT_REPLAYED, "true");
+        if (stored.getLocation() != null) {
+            response.location(URI.create(stored.getLocation()));
+        }
+        if (stored.getBody() == null) {
+            return response.build();
+        }
+        try {
+            return response.body(objectMapper.readValue(stored.getBody(), bodyType));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read the stored idempotent response", e);
+        }
+    }
+
+    /**
+     * SHA-256 of the request as JSON, to refuse a key reused for a different request instead of replaying a
+     * response that does not belong to it.
+     */
+    private String hash(Object request) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(objectMapper.writeValueAsBytes(request)));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not hash the idempotent request", e);
+        }
+    }
+
+    private String write(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not store the idempotent response", e);
+        }
+    }
+
+    @Override
+    public int purgeExpired() {
+        Integer purged = transactionTemplate.execute(status -> repository.deleteExpired(LocalDateTime.now()));
+        log.info("Purged {} expired idempotency keys", purged);
+        return purged == null ? 0 : purged;
+    }
+}
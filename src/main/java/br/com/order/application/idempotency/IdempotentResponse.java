@@ -0,0 +1,23 @@
+package br.com.order.application.idempotency;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotentResponse implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 4417290385561923817L;
+
+    private String requestHash;
+    private int status;
+    private String location;
+    private String body;
+}
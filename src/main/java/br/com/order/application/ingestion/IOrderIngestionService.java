@@ -0,0 +1,11 @@
+package br.com.order.application.ingestion;
+
+import br.com.order.application.order.CreateOrderDTO;
+
+public interface IOrderIngestionService {
+    OrderIngestionDTO enqueue(CreateOrderDTO createOrder);
+
+    OrderIngestionDTO getById(Long id);
+
+    int drain();
+}
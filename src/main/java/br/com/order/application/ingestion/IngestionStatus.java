@@ -0,0 +1,7 @@
+package br.com.order.application.ingestion;
+
+public enum IngestionStatus {
+    PENDING,
+    DONE,
+    FAILED
+}
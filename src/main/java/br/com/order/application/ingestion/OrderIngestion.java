@@ -0,0 +1,74 @@
+package br.com.order.application.ingestion;
+
+import br.com.order.application.base.BaseEntity;
+import br.com.order.application.order.CreateOrderDTO;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+/**
+ * An order accepted by {@code POST /orders?async=true}, waiting in the queue table until an ingestion worker
+ * creates it. {@code nextAttemptAt} delays the rows whose last attempt failed for a transient reason.
+ */
+@Entity
+@Table(name = "order_ingestions")
+@Getter
+@Setter
+@NoArgsConstructor
+public class OrderIngestion extends BaseEntity {
+
+    public static final int MAX_ERROR_LENGTH = 1000;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(nullable = false)
+    private CreateOrderDTO payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private IngestionStatus status = IngestionStatus.PENDING;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @Column(length = MAX_ERROR_LENGTH)
+    private String error;
+
+    public OrderIngestion(CreateOrderDTO payload) {
+        this.payload = payload;
+        this.nextAttemptAt = LocalDateTime.now();
+    }
+
+    public void complete(Long orderId) {
+        this.attempts++;
+        this.status = IngestionStatus.DONE;
+        this.orderId = orderId;
+        this.error = null;
+    }
+
+    public void reject(String error) {
+        this.attempts++;
+        this.status = IngestionStatus.FAILED;
+        this.error = truncate(error);
+    }
+
+    public void retryAt(LocalDateTime nextAttemptAt, String error) {
+        this.attempts++;
+        this.nextAttemptAt = nextAttemptAt;
+        this.error = truncate(error);
+    }
+
+    private static String truncate(String error) {
+        return error == null || error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,32 @@
+package br.com.order.application.ingestion;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderIngestionDTO implements Serializable {
+    @Serial
+    private static final long serialVersionUID = -5302760351934418147L;
+
+    private Long id;
+    private IngestionStatus status;
+    private int attempts;
+    private Long orderId;
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    public static OrderIngestionDTO of(OrderIngestion ingestion) {
+        return new OrderIngestionDTO(ingestion.getId(), ingestion.getStatus(), ingestion.getAttempts(),
+                ingestion.getOrderId(), ingestion.getError(), ingestion.getCreatedAt(), ingestion.getUpdatedAt());
+    }
+}
@@ -0,0 +1,46 @@
+package br.com.order.application.ingestion;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Asynchronous order ingestion. {@code maxPending} bounds the queue: once that many orders are waiting, new async
+ * requests are refused with 503 until the workers catch up. The pending count is re-read from the table at most
+ * every {@code pendingRefresh}. Orders that fail for a transient reason are retried up to {@code maxAttempts} times,
+ * waiting {@code retryBackoff} doubled on every attempt and capped at {@code maxRetryBackoff}.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "order.ingestion")
+public class OrderIngestionProperties {
+
+    private int batchSize = 100;
+
+    private int maxAttempts = 5;
+
+    private Duration retryBackoff = Duration.ofSeconds(1);
+
+    private Duration maxRetryBackoff = Duration.ofMinutes(5);
+
+    private long maxPending = 100_000;
+
+    private Duration pendingRefresh = Duration.ofSeconds(1);
+
+    private Workers workers = new Workers();
+
+    @Getter
+    @Setter
+    public static class Workers {
+
+        private boolean enabled;
+
+        private int count = 2;
+
+        private Duration pollInterval = Duration.ofMillis(500);
+    }
+}
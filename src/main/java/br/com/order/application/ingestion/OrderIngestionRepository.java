@@ -0,0 +1,27 @@
+package br.com.order.application.ingestion;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OrderIngestionRepository extends JpaRepository<OrderIngestion, Long> {
+
+    /**
+     * Locks the oldest due pending rows, skipping the ones another worker already holds, so concurrent workers
+     * drain disjoint batches without waiting for each other.
+     */
+    @Query(value = "SELECT * FROM order_ingestions WHERE status = 'PENDING' AND next_attempt_at <= :now "
+            + "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OrderIngestion> claimPending(LocalDateTime now, int limit);
+
+    @Query(value = "SELECT * FROM order_ingestions WHERE id = :id AND status = 'PENDING' FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    Optional<OrderIngestion> claimPendingById(Long id);
+
+    long countByStatus(IngestionStatus status);
+}
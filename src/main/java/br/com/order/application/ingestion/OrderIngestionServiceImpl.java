@@ -0,0 +1,192 @@
+package br.com.order.application.ingestion;
+
+import br.com.order.application.order.CreateOrderDTO;
+import br.com.order.application.order.IOrderService;
+import br.com.order.application.order.OrderBatchResultDTO;
+import br.com.order.exceptions.NotFoundException;
+import br.com.order.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Durable queue in front of {@link IOrderService#createAll}. Each drain locks a batch of due rows with
+ * {@code FOR UPDATE SKIP LOCKED} and creates their orders in the same transaction, so a crashed worker just releases
+ * its rows. Orders rejected by validation (unknown customer or product, duplicated items) are marked {@code FAILED}
+ * at once; when the batch fails as a whole the rows are replayed one by one, and only the ones that still fail are
+ * scheduled for a new attempt. The pending gauge and the outcome counters are only updated once the transaction that
+ * settled the rows commits, so a batch rolled back and replayed row by row is counted once.
+ */
+@Slf4j
+@Service
+public class OrderIngestionServiceImpl implements IOrderIngestionService {
+
+    public static final String INGESTION_NOT_FOUND = "Ingestion not found";
+    public static final String QUEUE_FULL = "The order queue is full. Try again later.";
+    public static final String PROCESSED_COUNTER = "order.ingestion.processed";
+
+    private final OrderIngestionRepository repository;
+    private final IOrderService orderService;
+    private final TransactionTemplate transactionTemplate;
+    private final OrderIngestionProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private record Processed(int done, int failed) {
+        int size() {
+            return done + failed;
+        }
+    }
+
+    private final AtomicLong pending = new AtomicLong();
+    private volatile long pendingCountedAt;
+
+    public OrderIngestionServiceImpl(OrderIngestionRepository repository,
+                                     IOrderService orderService,
+                                     TransactionTemplate transactionTemplate,
+                                     OrderIngestionProperties properties,
+                                     MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.orderService = orderService;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("order.ingestion.pending", pending, AtomicLong::get)
+                .description("Approximate number of orders waiting in the ingestion queue")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public OrderIngestionDTO enqueue(CreateOrderDTO createOrder) {
+        if (pendingEstimate() >= properties.getMaxPending()) {
+            throw new ServiceUnavailableException(QUEUE_FULL, properties.getRetryBackoff());
+        }
+        OrderIngestion ingestion = transactionTemplate.execute(status -> repository.save(new OrderIngestion(createOrder)));
+        pending.incrementAndGet();
+        log.info("Order queued for ingestion: {}", ingestion.getId());
+        return OrderIngestionDTO.of(ingestion);
+    }
+
+    private long pendingEstimate() {
+        long now = System.nanoTime();
+        if (now - pendingCountedAt >= properties.getPendingRefresh().toNanos()) {
+            synchronized (pending) {
+                if (now - pendingCountedAt >= properties.getPendingRefresh().toNanos()) {
+                    pending.set(repository.countByStatus(IngestionStatus.PENDING));
+                    pendingCountedAt = System.nanoTime();
+                }
+            }
+        }
+        return pending.get();
+    }
+
+    @Override
+    public OrderIngestionDTO getById(Long id) {
+        return repository.findById(id)
+                .map(OrderIngestionDTO::of)
+                .orElseThrow(() -> new NotFoundException(INGESTION_NOT_FOUND));
+    }
+
+    @Override
+    public int drain() {
+        List<Long> claimed = new ArrayList<>();
+        try {
+            Processed processed = transactionTemplate.execute(status ->
+                    process(repository.claimPending(LocalDateTime.now(), properties.getBatchSize()), claimed));
+            return settled(processed);
+        } catch (RuntimeException e) {
+            if (claimed.isEmpty()) {
+                throw e;
+            }
+            if (claimed.size() == 1) {
+                retryLater(claimed.get(0), e);
+                return 1;
+            }
+            log.warn("Ingestion batch of {} orders failed, processing them one by one", claimed.size(), e);
+            for (Long id : claimed) {
+                try {
+                    settled(transactionTemplate.execute(status ->
+                            process(repository.claimPendingById(id).stream().toList(), new ArrayList<>())));
+                } catch (RuntimeException single) {
+                    retryLater(id, single);
+                }
+            }
+            return claimed.size();
+        }
+    }
+
+    private Processed process(List<OrderIngestion> batch, List<Long> claimed) {
+        batch.forEach(ingestion -> claimed.add(ingestion.getId()));
+        if (batch.isEmpty()) {
+            return new Processed(0, 0);
+        }
+
+        List<OrderBatchResultDTO> results = orderService.createAll(batch.stream().map(OrderIngestion::getPayload).toList());
+        int done = 0;
+        for (int index = 0; index < batch.size(); index++) {
+            OrderIngestion ingestion = batch.get(index);
+            OrderBatchResultDTO result = results.get(index);
+            if (result.isSuccess()) {
+                ingestion.complete(result.getOrderId());
+                done++;
+            } else {
+                ingestion.reject(String.join("; ", result.getErrors()));
+            }
+        }
+        repository.saveAll(batch);
+        log.info("Ingestion batch processed: {} orders", batch.size());
+        return new Processed(done, batch.size() - done);
+    }
+
+    /**
+     * Records a committed batch in the pending gauge and the outcome counters.
+     */
+    private int settled(Processed processed) {
+        pending.addAndGet(-processed.size());
+        count("done", processed.done());
+        count("failed", processed.failed());
+        return processed.size();
+    }
+
+    private void retryLater(Long id, RuntimeException cause) {
+        try {
+            String outcome = transactionTemplate.execute(status -> repository.claimPendingById(id).map(ingestion -> {
+                String error = cause.getClass().getSimpleName() + ": " + cause.getMessage();
+                boolean exhausted = ingestion.getAttempts() + 1 >= properties.getMaxAttempts();
+                if (exhausted) {
+                    ingestion.reject(error);
+                    log.error("Ingestion {} failed after {} attempts", id, ingestion.getAttempts(), cause);
+                } else {
+                    ingestion.retryAt(LocalDateTime.now().plus(backoff(ingestion.getAttempts() + 1)), error);
+                    log.warn("Ingestion {} failed, attempt {} of {}", id, ingestion.getAttempts(), properties.getMaxAttempts(), cause);
+                }
+                repository.save(ingestion);
+                return exhausted ? "failed" : "retried";
+            }).orElse(null));
+            if ("failed".equals(outcome)) {
+                pending.decrementAndGet();
+            }
+            if (outcome != null) {
+                count(outcome, 1);
+            }
+        } catch (RuntimeException e) {
+            log.error("Could not record the failed attempt of ingestion {}", id, e);
+        }
+    }
+
+    private Duration backoff(int attempt) {
+        Duration delay = properties.getRetryBackoff().multipliedBy(1L << Math.min(attempt - 1, 20));
+        return delay.compareTo(properties.getMaxRetryBackoff()) > 0 ? properties.getMaxRetryBackoff() : delay;
+    }
+
+    private void count(String outcome, int amount) {
+        meterRegistry.counter(PROCESSED_COUNTER, "outcome", outcome).increment(amount);
+    }
+}
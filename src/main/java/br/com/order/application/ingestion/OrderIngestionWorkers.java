@@ -0,0 +1,72 @@
+package br.com.order.application.ingestion;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pool of workers draining the ingestion queue. A worker keeps draining while it gets full batches and sleeps for
+ * {@code order.ingestion.workers.poll-interval} once the queue is empty, so bursts are absorbed at the rate the
+ * database sustains. Enabled with {@code order.ingestion.workers.enabled=true}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "order.ingestion.workers.enabled", havingValue = "true")
+public class OrderIngestionWorkers implements SmartLifecycle {
+
+    private final IOrderIngestionService ingestionService;
+    private final OrderIngestionProperties properties;
+
+    private ScheduledExecutorService executor;
+
+    @Override
+    public synchronized void start() {
+        OrderIngestionProperties.Workers workers = properties.getWorkers();
+        executor = Executors.newScheduledThreadPool(workers.getCount(),
+                Thread.ofPlatform().name("order-ingestion-", 0).daemon().factory());
+        for (int i = 0; i < workers.getCount(); i++) {
+            executor.scheduleWithFixedDelay(this::drain, 0, workers.getPollInterval().toMillis(), TimeUnit.MILLISECONDS);
+        }
+        log.info("Started {} order ingestion workers", workers.getCount());
+    }
+
+    private void drain() {
+        try {
+            while (!Thread.currentThread().isInterrupted()
+                    && ingestionService.drain() >= properties.getBatchSize()) {
+                log.debug("Full ingestion batch drained, polling again");
+            }
+        } catch (RuntimeException e) {
+            log.error("Order ingestion worker failed", e);
+        }
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        executor = null;
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return executor != null;
+    }
+}
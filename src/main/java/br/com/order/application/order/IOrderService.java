@@ -4,21 +4,28 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface IOrderService {
-    void create(CreateOrderDTO createOrder);
+    Long create(CreateOrderDTO createOrder);
 
-    void update(Long id, UpdateOrderDTO updateOrder);
+    List<OrderBatchResultDTO> createAll(List<CreateOrderDTO> createOrders);
 
-    void addItems(Long id, List<OrderItemDTO> orderItems);
+    void update(Long id, UpdateOrderDTO updateOrder, Long expectedVersion);
 
-    void updateItem(Long orderId, Long productId, UpdateOrderItemDTO updateOrderItem);
+    void addItems(Long id, List<OrderItemDTO> orderItems, Long expectedVersion);
 
-    void deleteItem(Long orderId, Long productId);
+    void updateItem(Long orderId, Long productId, UpdateOrderItemDTO updateOrderItem, Long expectedVersion);
+
+    void deleteItem(Long orderId, Long productId, Long expectedVersion);
 
     void delete(Long orderId);
 
     Page<OrderWithoutItems> listOrders(OrderStatus status, Long customerId, Long productId, Pageable pageable);
 
+    OrderSliceDTO scrollOrders(OrderStatus status, Long customerId, Long productId, String cursor, int size);
+
+    long exportOrders(OrderStatus status, Long customerId, Long productId, Consumer<OrderWithoutItems> consumer);
+
     OrderDTO getOrderById(Long id);
 }
@@ -3,7 +3,9 @@ package br.com.order.application.order;
 import br.com.order.application.base.BaseEntity;
 import br.com.order.application.customer.Customer;
 import jakarta.persistence.*;
-import lombok.AllArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -21,8 +23,10 @@ import java.util.Objects;
 @Table(name = "orders")
 @Getter
 @Setter
-@AllArgsConstructor
 public class Order extends BaseEntity {
+    // Only takes effect with the second-level cache enabled; items of closed orders never change, so their
+    // collection entries stay cached, while open orders are invalidated on every item change.
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private List<OrderItem> items;
 
@@ -36,6 +40,18 @@ public class Order extends BaseEntity {
     @Column(nullable = false)
     private OrderStatus status = OrderStatus.CREATED;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    @Setter(AccessLevel.NONE)
+    @Column(precision = 14, scale = 2, nullable = false)
+    private BigDecimal subtotal = BigDecimal.ZERO;
+
+    @Setter(AccessLevel.NONE)
+    @Column(precision = 14, scale = 2, nullable = false)
+    private BigDecimal total = BigDecimal.ZERO;
+
     public void addItem(OrderItem item) {
         item.setOrder(this);
         this.items.add(item);
@@ -45,19 +61,27 @@ public class Order extends BaseEntity {
         this.items = new ArrayList<>();
     }
 
+    public Order(List<OrderItem> items, Customer customer, BigDecimal discount, OrderStatus status) {
+        this.items = items;
+        this.customer = customer;
+        this.discount = discount;
+        this.status = status;
+        recalculateTotals();
+    }
+
     public BigDecimal getDiscount() {
         return Objects.isNull(discount) ? BigDecimal.ZERO : discount;
     }
 
-    public BigDecimal getTotal() {
-        BigDecimal total = items.stream()
+    /**
+     * Refreshes the stored {@code subtotal} and {@code total}. Must be called after any change to the
+     * items or the discount, so that listings can read the totals without loading the items.
+     */
+    public void recalculateTotals() {
+        this.subtotal = items.stream()
                 .map(item -> item.getPrice().multiply(BigDecimal.valueOf(item.getQuantity())))
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal discountValue = discount != null ? discount : BigDecimal.ZERO;
-        BigDecimal finalTotal = total.subtract(discountValue);
-
-        return finalTotal.max(BigDecimal.ZERO);
+        this.total = subtotal.subtract(getDiscount()).max(BigDecimal.ZERO);
     }
 
 }
@@ -0,0 +1,32 @@
+package br.com.order.application.order;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderBatchResultDTO implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 3871405921556870114L;
+
+    private int index;
+    private Long orderId;
+    private boolean success;
+    private List<String> errors;
+
+    public static OrderBatchResultDTO created(int index, Long orderId) {
+        return new OrderBatchResultDTO(index, orderId, true, List.of());
+    }
+
+    public static OrderBatchResultDTO failed(int index, String error) {
+        return new OrderBatchResultDTO(index, null, false, List.of(error));
+    }
+}
@@ -1,21 +1,38 @@
 package br.com.order.application.order;
 
+import br.com.order.application.idempotency.IIdempotencyService;
+import br.com.order.application.ingestion.IOrderIngestionService;
+import br.com.order.application.ingestion.OrderIngestionDTO;
+import br.com.order.application.outbox.IOrderChangeFeedService;
+import br.com.order.application.outbox.OrderChangesDTO;
+import br.com.order.exceptions.BadRequestException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.OpenAPIDefinition;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.info.Info;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @OpenAPIDefinition(
@@ -31,21 +48,99 @@ import java.util.List;
 @RequiredArgsConstructor
 public class OrderController {
     private final IOrderService service;
+    private final IOrderIngestionService ingestionService;
+    private final IOrderChangeFeedService changeFeedService;
+    private final IIdempotencyService idempotencyService;
+    private final ObjectMapper objectMapper;
+
+    private static final String INVALID_IF_MATCH = "Invalid If-Match header";
+
+    private static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        try {
+            return Long.valueOf(tag.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            throw new BadRequestException(INVALID_IF_MATCH);
+        }
+    }
 
     @Operation(
             summary = "Create a new order",
-            description = "Creates a new order with the provided details. The order will be initialized with 'CREATED' status."
+            description = "Creates a new order with the provided details. The order will be initialized with 'CREATED' status. " +
+                    "With async=true the order is only queued: the response is 202 with the ingestion to follow at " +
+                    "/orders/ingestions/{id}, and the order is created by the ingestion workers. " +
+                    "Retries sent with the same Idempotency-Key get the first response back instead of a new order."
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Order created successfully"),
-            @ApiResponse(responseCode = "400", description = "Bad request - invalid data or duplicate products in the order"),
-            @ApiResponse(responseCode = "404", description = "Customer or product not found")
+            @ApiResponse(responseCode = "202", description = "Order queued for ingestion"),
+            @ApiResponse(responseCode = "400", description = "Bad request - invalid data, duplicate products in the order " +
+                    "or Idempotency-Key reused with a different request"),
+            @ApiResponse(responseCode = "404", description = "Customer or product not found"),
+            @ApiResponse(responseCode = "503", description = "Ingestion queue full, retry after the Retry-After delay")
     })
-    @ResponseStatus(HttpStatus.CREATED)
     @PostMapping
-    public void create(@RequestBody @Valid CreateOrderDTO createOrder) {
+    public ResponseEntity<OrderIngestionDTO> create(@RequestBody @Valid CreateOrderDTO createOrder,
+                                                    @RequestParam(defaultValue = "false") boolean async,
+                                                    @RequestHeader(value = IIdempotencyService.IDEMPOTENCY_KEY, required = false)
+                                                    String idempotencyKey) {
+        return idempotencyService.execute("POST /orders", idempotencyKey, List.of(createOrder, async),
+                OrderIngestionDTO.class, () -> create(createOrder, async));
+    }
+
+    private ResponseEntity<OrderIngestionDTO> create(CreateOrderDTO createOrder, boolean async) {
+        if (async) {
+            OrderIngestionDTO ingestion = ingestionService.enqueue(createOrder);
+            return ResponseEntity.accepted()
+                    .location(ServletUriComponentsBuilder.fromCurrentContextPath()
+                            .path("/orders/ingestions/{id}")
+                            .buildAndExpand(ingestion.getId())
+                            .toUri())
+                    .body(ingestion);
+        }
         log.info("Creating order: {}", createOrder);
-        service.create(createOrder);
+        Long id = service.create(createOrder);
+        return ResponseEntity.created(ServletUriComponentsBuilder.fromCurrentContextPath()
+                        .path("/orders/{id}")
+                        .buildAndExpand(id)
+                        .toUri())
+                .build();
+    }
+
+    @Operation(
+            summary = "Get an order ingestion",
+            description = "Status of an order queued with POST /orders?async=true: PENDING, DONE (with the created order id) " +
+                    "or FAILED (with the reason)."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Ingestion found"),
+            @ApiResponse(responseCode = "404", description = "Ingestion not found")
+    })
+    @GetMapping("/ingestions/{id}")
+    public OrderIngestionDTO getIngestion(@PathVariable Long id) {
+        return ingestionService.getById(id);
+    }
+
+    @Operation(
+            summary = "Create orders in batch",
+            description = "Creates many orders in a single request. Orders are validated together and persisted in JDBC " +
+                    "batches; the response reports, in request order, which orders were created and why the others failed."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed, see the per-order results"),
+            @ApiResponse(responseCode = "400", description = "Bad request - empty batch, too many orders or invalid order data")
+    })
+    @PostMapping("/batch")
+    public List<OrderBatchResultDTO> createAll(
+            @RequestBody @NotEmpty @Size(max = 1000) List<@Valid CreateOrderDTO> createOrders) {
+        log.info("Creating batch of {} orders", createOrders.size());
+        return service.createAll(createOrders);
     }
 
     @Operation(
@@ -57,28 +152,40 @@ public class OrderController {
             @ApiResponse(responseCode = "200", description = "Order updated successfully"),
             @ApiResponse(responseCode = "400", description = "Bad request - invalid data, duplicate products, invalid status transition, " +
                     "or order already processed"),
-            @ApiResponse(responseCode = "404", description = "Order, customer, or product not found")
+            @ApiResponse(responseCode = "404", description = "Order, customer, or product not found"),
+            @ApiResponse(responseCode = "409", description = "Order modified concurrently"),
+            @ApiResponse(responseCode = "412", description = "If-Match does not match the current order version")
     })
     @PatchMapping("/{id}")
-    public void update(@PathVariable Long id, @RequestBody UpdateOrderDTO updateOrder) {
+    public void update(@PathVariable Long id, @RequestBody UpdateOrderDTO updateOrder,
+                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.info("Updating order: {}", updateOrder);
-        service.update(id, updateOrder);
+        service.update(id, updateOrder, expectedVersion(ifMatch));
     }
 
     @Operation(
             summary = "Add items to an order",
-            description = "Adds new items to an existing order. The order must be in 'CREATED' status."
+            description = "Adds new items to an existing order. The order must be in 'CREATED' status. " +
+                    "Retries sent with the same Idempotency-Key get the first response back instead of adding the items again."
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Items added successfully"),
-            @ApiResponse(responseCode = "400", description = "Bad request - duplicate products or order already processed"),
-            @ApiResponse(responseCode = "404", description = "Order or product not found")
+            @ApiResponse(responseCode = "400", description = "Bad request - duplicate products, order already processed " +
+                    "or Idempotency-Key reused with a different request"),
+            @ApiResponse(responseCode = "404", description = "Order or product not found"),
+            @ApiResponse(responseCode = "412", description = "If-Match does not match the current order version")
     })
     @PostMapping("/{id}/items")
-    @ResponseStatus(HttpStatus.OK)
-    public void addItems(@PathVariable Long id, @RequestBody List<@Valid OrderItemDTO> orderItems) {
-        log.info("Adding items to order id: {}", id);
-        service.addItems(id, orderItems);
+    public ResponseEntity<Void> addItems(@PathVariable Long id, @RequestBody List<@Valid OrderItemDTO> orderItems,
+                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                         @RequestHeader(value = IIdempotencyService.IDEMPOTENCY_KEY, required = false)
+                                         String idempotencyKey) {
+        Long expectedVersion = expectedVersion(ifMatch);
+        return idempotencyService.execute("POST /orders/" + id + "/items", idempotencyKey, orderItems, Void.class, () -> {
+            log.info("Adding items to order id: {}", id);
+            service.addItems(id, orderItems, expectedVersion);
+            return ResponseEntity.ok().build();
+        });
     }
 
     @Operation(
@@ -88,13 +195,16 @@ public class OrderController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Item updated successfully"),
             @ApiResponse(responseCode = "400", description = "Bad request - order already processed"),
-            @ApiResponse(responseCode = "404", description = "Order or product not found")
+            @ApiResponse(responseCode = "404", description = "Order or product not found"),
+            @ApiResponse(responseCode = "409", description = "Order modified concurrently"),
+            @ApiResponse(responseCode = "412", description = "If-Match does not match the current order version")
     })
     @PutMapping("/{orderId}/items/{productId}")
     @ResponseStatus(HttpStatus.OK)
     public void updateItem(@PathVariable Long orderId, @PathVariable Long productId,
-                           @RequestBody @Valid UpdateOrderItemDTO updateOrderItem) {
-        service.updateItem(orderId, productId, updateOrderItem);
+                           @RequestBody @Valid UpdateOrderItemDTO updateOrderItem,
+                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        service.updateItem(orderId, productId, updateOrderItem, expectedVersion(ifMatch));
     }
 
     @Operation(
@@ -104,12 +214,15 @@ public class OrderController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Item deleted successfully"),
             @ApiResponse(responseCode = "400", description = "Bad request - order already processed"),
-            @ApiResponse(responseCode = "404", description = "Order or product not found")
+            @ApiResponse(responseCode = "404", description = "Order or product not found"),
+            @ApiResponse(responseCode = "409", description = "Order modified concurrently"),
+            @ApiResponse(responseCode = "412", description = "If-Match does not match the current order version")
     })
     @DeleteMapping("/{orderId}/items/{productId}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void deleteItem(@PathVariable Long orderId, @PathVariable Long productId) {
-        service.deleteItem(orderId, productId);
+    public void deleteItem(@PathVariable Long orderId, @PathVariable Long productId,
+                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        service.deleteItem(orderId, productId, expectedVersion(ifMatch));
     }
 
     @Operation(
@@ -146,9 +259,70 @@ public class OrderController {
         return ResponseEntity.ok(orders);
     }
 
+    @Operation(
+            summary = "Export orders",
+            description = "Streams every order matching the same filters as the list endpoint, ordered by creation date, " +
+                    "as NDJSON (one JSON object per line) or CSV. Rows are written as they are read from the database, " +
+                    "without paging or counting, for reporting jobs that need the whole result."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Orders exported successfully")
+    })
+    @GetMapping("/export")
+    public void exportOrders(@RequestParam(required = false) OrderStatus status,
+                             @RequestParam(required = false) Long customerId,
+                             @RequestParam(required = false) Long productId,
+                             @RequestParam(defaultValue = "NDJSON") OrderExportFormat format,
+                             HttpServletResponse response) throws IOException {
+        response.setContentType(format.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename("orders." + format.getExtension()).build().toString());
+
+        OrderExportWriter writer = new OrderExportWriter(format, response.getWriter(), objectMapper);
+        service.exportOrders(status, customerId, productId, writer);
+        writer.flush();
+    }
+
+    @Operation(
+            summary = "Order change feed",
+            description = "Order events (created, updated, status changed, items changed, deleted) after the given position, " +
+                    "in commit order. Consumers keep the returned nextSince and pass it as since on the next call, " +
+                    "reading only what changed instead of listing the orders again."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Events retrieved successfully")
+    })
+    @GetMapping("/changes")
+    public OrderChangesDTO changes(@RequestParam(defaultValue = "0") @Min(0) long since,
+                                   @RequestParam(defaultValue = "100") @Min(1) @Max(1000) int limit) {
+        return changeFeedService.changes(since, limit);
+    }
+
+    @Operation(
+            summary = "Scroll through orders with filters",
+            description = "Keyset pagination over orders ordered by creation date. Accepts the same filters as the list " +
+                    "endpoint, never counts the matching rows and returns an opaque cursor to request the next slice."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Orders retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Bad request - invalid cursor or size")
+    })
+    @GetMapping("/scroll")
+    public ResponseEntity<OrderSliceDTO> scrollOrders(
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) Long customerId,
+            @RequestParam(required = false) Long productId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(1000) int size) {
+
+        return ResponseEntity.ok(service.scrollOrders(status, customerId, productId, cursor, size));
+    }
+
     @Operation(
             summary = "Get an order by ID",
-            description = "Retrieves the details of an order by its ID."
+            description = "Retrieves the details of an order by its ID. The ETag header carries the order version, " +
+                    "to be sent back as If-Match on updates."
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Order found"),
@@ -156,7 +330,11 @@ public class OrderController {
     })
     @GetMapping("/{id}")
     public ResponseEntity<OrderDTO> getOrderById(@PathVariable Long id) {
-        return ResponseEntity.ok(service.getOrderById(id));
+        OrderDTO order = service.getOrderById(id);
+        if (order.getVersion() == null) {
+            return ResponseEntity.ok(order);
+        }
+        return ResponseEntity.ok().eTag(String.valueOf(order.getVersion())).body(order);
     }
 
 }
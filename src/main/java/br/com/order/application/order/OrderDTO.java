@@ -1,5 +1,6 @@
 package br.com.order.application.order;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -27,6 +28,8 @@ public class OrderDTO implements Serializable {
     private BigDecimal total;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    @JsonIgnore
+    private Long version;
 
     public BigDecimal getDiscount() {
         return discount != null ? discount : BigDecimal.ZERO;
@@ -0,0 +1,74 @@
+package br.com.order.application.order;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.function.Consumer;
+
+/**
+ * Writes exported orders one line at a time, as JSON objects (NDJSON) or CSV rows, so nothing but the current order
+ * is held in memory. Dates use the API's JSON format in both.
+ */
+public class OrderExportWriter implements Consumer<OrderWithoutItems> {
+
+    static final String CSV_HEADER = "id,customerId,discount,status,total,createdAt,updatedAt";
+
+    private final OrderExportFormat format;
+    private final Writer writer;
+    private final ObjectWriter json;
+
+    public OrderExportWriter(OrderExportFormat format, Writer writer, ObjectMapper objectMapper) {
+        this.format = format;
+        this.writer = writer;
+        this.json = objectMapper.writer();
+        if (format == OrderExportFormat.CSV) {
+            line(CSV_HEADER);
+        }
+    }
+
+    @Override
+    public void accept(OrderWithoutItems order) {
+        try {
+            line(switch (format) {
+                case NDJSON -> json.writeValueAsString(order);
+                case CSV -> String.join(",",
+                        value(order.getId()),
+                        value(order.getCustomerId()),
+                        value(order.getDiscount()),
+                        value(order.getStatus()),
+                        value(order.getTotal()),
+                        date(order.getCreatedAt()),
+                        date(order.getUpdatedAt()));
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Every CSV column is a number, an enum or a date, so values never need quoting.
+     */
+    private static String value(Object value) {
+        return value == null ? "" : value.toString();
+    }
+
+    private String date(Object value) throws IOException {
+        return value == null ? "" : json.writeValueAsString(value).replace("\"", "");
+    }
+
+    private void line(String line) {
+        try {
+            writer.write(line);
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void flush() throws IOException {
+        writer.flush();
+    }
+}
@@ -0,0 +1,114 @@
+package br.com.order.application.order;
+
+import br.com.order.application.admin.HotOrderDTO;
+import br.com.order.application.admin.LockOperationStatsDTO;
+import br.com.order.application.admin.LockStatsDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Measures how long order mutations wait for the pessimistic row lock. Every acquisition is timed in
+ * {@code order.lock.wait} (tagged by {@code operation} and {@code outcome}); waits above
+ * {@link OrderLockingProperties#getContentionThreshold()} and lock timeouts are counted in
+ * {@code order.lock.contended} and added to a top-K sketch of the most contended order ids.
+ */
+@Component
+public class OrderLockMonitor {
+
+    public static final String WAIT_TIMER = "order.lock.wait";
+    public static final String CONTENDED_COUNTER = "order.lock.contended";
+
+    private record OperationMeters(Timer acquired, Timer timeout, Counter contended) {
+    }
+
+    private final MeterRegistry registry;
+    private final OrderLockingProperties properties;
+    private final TopKSketch hotOrders;
+    private final Map<String, OperationMeters> operations = new ConcurrentHashMap<>();
+
+    public OrderLockMonitor(MeterRegistry registry, OrderLockingProperties properties) {
+        this.registry = registry;
+        this.properties = properties;
+        this.hotOrders = new TopKSketch(properties.getHotOrders());
+    }
+
+    public <T> T acquire(String operation, Long orderId, Supplier<T> lock) {
+        OperationMeters meters = operations.computeIfAbsent(operation, this::register);
+        long start = System.nanoTime();
+        try {
+            T result = lock.get();
+            long waited = System.nanoTime() - start;
+            meters.acquired().record(waited, TimeUnit.NANOSECONDS);
+            if (waited >= properties.getContentionThreshold().toNanos()) {
+                contended(meters, orderId);
+            }
+            return result;
+        } catch (PessimisticLockingFailureException e) {
+            meters.timeout().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            contended(meters, orderId);
+            throw e;
+        }
+    }
+
+    private void contended(OperationMeters meters, Long orderId) {
+        meters.contended().increment();
+        hotOrders.add(orderId);
+    }
+
+    private OperationMeters register(String operation) {
+        return new OperationMeters(
+                timer(operation, "acquired"),
+                timer(operation, "timeout"),
+                Counter.builder(CONTENDED_COUNTER)
+                        .description("Order lock acquisitions that waited above the contention threshold or timed out")
+                        .tag("operation", operation)
+                        .register(registry));
+    }
+
+    private Timer timer(String operation, String outcome) {
+        return Timer.builder(WAIT_TIMER)
+                .description("Time spent waiting for the order row lock")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    public LockStatsDTO stats(int limit) {
+        List<LockOperationStatsDTO> operationStats = operations.entrySet().stream()
+                .map(entry -> toDTO(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparing(LockOperationStatsDTO::getOperation))
+                .toList();
+        List<HotOrderDTO> hot = hotOrders.top(limit).stream()
+                .map(entry -> new HotOrderDTO(entry.key(), entry.count(), entry.error()))
+                .toList();
+        return new LockStatsDTO(properties.getContentionThreshold().toNanos() / 1e6, operationStats, hot);
+    }
+
+    private LockOperationStatsDTO toDTO(String operation, OperationMeters meters) {
+        return new LockOperationStatsDTO(operation,
+                meters.acquired().count(),
+                (long) meters.contended().count(),
+                meters.timeout().count(),
+                meters.acquired().totalTime(TimeUnit.MILLISECONDS) + meters.timeout().totalTime(TimeUnit.MILLISECONDS),
+                Math.max(meters.acquired().max(TimeUnit.MILLISECONDS), meters.timeout().max(TimeUnit.MILLISECONDS)));
+    }
+
+    /**
+     * Forgets the contended orders seen so far, so the sketch reflects a new observation window.
+     * The Micrometer meters are cumulative and are not affected.
+     */
+    public void resetHotOrders() {
+        hotOrders.clear();
+    }
+}
@@ -0,0 +1,60 @@
+package br.com.order.application.order;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * How order mutations protect themselves against concurrent writers.
+ * <ul>
+ *     <li>{@code PESSIMISTIC}: the order row is locked ({@code SELECT ... FOR UPDATE}) for the whole transaction.</li>
+ *     <li>{@code OPTIMISTIC}: the order is read without a lock and its {@code version} is checked and incremented on
+ *     commit; conflicting mutations fail and are retried up to {@code maxRetries} times.</li>
+ * </ul>
+ * In pessimistic mode {@code lockWait} decides what happens when another transaction holds the row:
+ * <ul>
+ *     <li>{@code WAIT}: wait up to {@code lockTimeout} (zero keeps the database default).</li>
+ *     <li>{@code NOWAIT}: fail at once ({@code FOR UPDATE NOWAIT}).</li>
+ *     <li>{@code SKIP_LOCKED}: fail at once without raising a database error ({@code FOR UPDATE SKIP LOCKED}).</li>
+ * </ul>
+ * Lock and optimistic conflicts are retried up to {@code maxRetries} times with a jittered exponential backoff that
+ * starts at {@code retryBackoff} and is capped at {@code maxRetryBackoff}.
+ * Lock waits longer than {@code contentionThreshold} count as contention and feed the
+ * sketch of the {@code hotOrders} most contended orders kept by {@link OrderLockMonitor}.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "order.locking")
+public class OrderLockingProperties {
+
+    public enum Mode {
+        PESSIMISTIC,
+        OPTIMISTIC
+    }
+
+    public enum LockWait {
+        WAIT,
+        NOWAIT,
+        SKIP_LOCKED
+    }
+
+    private Mode mode = Mode.PESSIMISTIC;
+
+    private int maxRetries = 3;
+
+    private LockWait lockWait = LockWait.WAIT;
+
+    private Duration lockTimeout = Duration.ofSeconds(2);
+
+    private Duration retryBackoff = Duration.ofMillis(50);
+
+    private Duration maxRetryBackoff = Duration.ofSeconds(1);
+
+    private Duration contentionThreshold = Duration.ofMillis(50);
+
+    private int hotOrders = 100;
+}
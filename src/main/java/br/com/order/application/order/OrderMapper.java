@@ -28,7 +28,8 @@ public class OrderMapper {
                 order.getStatus(),
                 order.getTotal(),
                 order.getCreatedAt(),
-                order.getUpdatedAt()
+                order.getUpdatedAt(),
+                order.getVersion()
         );
     }
 }
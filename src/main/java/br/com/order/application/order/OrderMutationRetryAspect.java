@@ -0,0 +1,77 @@
+package br.com.order.application.order;
+
+import br.com.order.application.base.RetryOnConflict;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Re-executes {@link RetryOnConflict} methods that fail with an {@link OptimisticLockingFailureException} or a
+ * {@link PessimisticLockingFailureException} (lock timeout, {@code NOWAIT}/{@code SKIP LOCKED} conflict or deadlock).
+ * Runs outside the transactional advice, so every attempt gets a fresh transaction and reloads the order.
+ * When the caller already owns a transaction the conflict is propagated, since retrying inside it is pointless.
+ * Attempts are spaced by an exponential backoff with jitter, so writers that collided do not collide again.
+ */
+@Slf4j
+@Aspect
+@Component
+@org.springframework.core.annotation.Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class OrderMutationRetryAspect {
+
+    public static final String RETRIES_COUNTER = "order.mutation.retries";
+    public static final String EXHAUSTED_COUNTER = "order.mutation.retries.exhausted";
+
+    private final OrderLockingProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    @Around("@annotation(br.com.order.application.base.RetryOnConflict)")
+    public Object retry(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+
+        String method = joinPoint.getSignature().getName();
+        int attempt = 0;
+        while (true) {
+            try {
+                return joinPoint.proceed();
+            } catch (OptimisticLockingFailureException | PessimisticLockingFailureException e) {
+                String exception = e.getClass().getSimpleName();
+                if (++attempt > properties.getMaxRetries()) {
+                    meterRegistry.counter(EXHAUSTED_COUNTER, "method", method, "exception", exception).increment();
+                    throw e;
+                }
+                meterRegistry.counter(RETRIES_COUNTER, "method", method, "exception", exception).increment();
+                long backoff = backoffMillis(attempt);
+                log.warn("Concurrent modification in {} ({}), retrying in {} ms ({}/{})",
+                        method, exception, backoff, attempt, properties.getMaxRetries());
+                Thread.sleep(backoff);
+            }
+        }
+    }
+
+    /**
+     * Equal jitter: half of the exponential delay is kept and the other half is random.
+     */
+    public long backoffMillis(int attempt) {
+        long initial = properties.getRetryBackoff().toMillis();
+        if (initial <= 0) {
+            return 0;
+        }
+        long max = Math.max(initial, properties.getMaxRetryBackoff().toMillis());
+        long delay = Math.min(max, initial << Math.min(attempt - 1, 30));
+        long half = delay / 2;
+        return half + ThreadLocalRandom.current().nextLong(delay - half + 1);
+    }
+}
@@ -1,6 +1,7 @@
 package br.com.order.application.order;
 
 import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Lock;
@@ -10,7 +11,19 @@ import org.springframework.stereotype.Repository;
 import java.util.Optional;
 
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecificationExecutor<Order> {
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
+public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecificationExecutor<Order>,
+        OrderRepositoryCustom {
+
+    /**
+     * Locking lookup implemented by {@link OrderRepositoryImpl}.
+     */
+    @Override
+    @NonNull
     Optional<Order> findById(@NonNull Long id);
+
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    Optional<Order> findForUpdateById(Long id);
+
+    @EntityGraph("Order.items")
+    Optional<Order> findWithItemsById(Long id);
 }
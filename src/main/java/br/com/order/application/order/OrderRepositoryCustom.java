@@ -0,0 +1,24 @@
+package br.com.order.application.order;
+
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.lang.NonNull;
+
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface OrderRepositoryCustom {
+
+    /**
+     * Loads the order with a pessimistic write lock ({@code SELECT ... FOR UPDATE}), waiting for a concurrent
+     * holder according to {@link OrderLockingProperties#getLockWait()} and {@link OrderLockingProperties#getLockTimeout()}.
+     * A lock that cannot be acquired in time raises a {@link org.springframework.dao.PessimisticLockingFailureException}.
+     */
+    Optional<Order> findById(@NonNull Long id);
+
+    /**
+     * Streams the orders matching {@code spec} ordered by creation date, as {@link OrderWithoutItems} built by the
+     * query itself, so no entity enters the persistence context. Rows are read from a forward-only cursor
+     * {@code fetchSize} at a time; the stream must be consumed inside a transaction and closed.
+     */
+    Stream<OrderWithoutItems> streamWithoutItems(Specification<Order> spec, int fetchSize);
+}
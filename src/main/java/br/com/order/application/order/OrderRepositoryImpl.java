@@ -0,0 +1,91 @@
+package br.com.order.application.order;
+
+import br.com.order.application.base.Dialects;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.lang.NonNull;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Translates the lock wait policy into the JPA lock timeout hint: {@code 0} renders {@code FOR UPDATE NOWAIT} and
+ * {@code -2} {@code FOR UPDATE SKIP LOCKED}. PostgreSQL has no {@code FOR UPDATE WAIT n}, so a bounded wait sets
+ * {@code lock_timeout} for the rest of the transaction instead. Dialects without these clauses (e.g. H2) lock with a
+ * plain {@code FOR UPDATE} and keep the database's own lock timeout, which also applies when the configured timeout
+ * is zero.
+ */
+@RequiredArgsConstructor
+public class OrderRepositoryImpl implements OrderRepositoryCustom {
+
+    static final int WAIT_FOREVER = -1;
+    static final int NO_WAIT = 0;
+    static final int SKIP_LOCKED = -2;
+
+    private final EntityManager entityManager;
+    private final OrderLockingProperties properties;
+
+    @Override
+    public Optional<Order> findById(@NonNull Long id) {
+        int timeout = switch (properties.getLockWait()) {
+            case WAIT -> waitTimeout();
+            case NOWAIT -> NO_WAIT;
+            case SKIP_LOCKED -> SKIP_LOCKED;
+        };
+        Order order = entityManager.find(Order.class, id, LockModeType.PESSIMISTIC_WRITE,
+                Map.of(AvailableSettings.JAKARTA_LOCK_TIMEOUT, timeout));
+        if (order == null && timeout == SKIP_LOCKED && exists(id)) {
+            throw new CannotAcquireLockException("Order " + id + " is locked by another transaction");
+        }
+        return Optional.ofNullable(order);
+    }
+
+    private int waitTimeout() {
+        int millis = (int) properties.getLockTimeout().toMillis();
+        if (millis <= 0) {
+            return WAIT_FOREVER;
+        }
+        if (Dialects.isPostgreSQL(entityManager)) {
+            entityManager.createNativeQuery("select set_config('lock_timeout', :timeout, true)")
+                    .setParameter("timeout", millis + "ms")
+                    .getSingleResult();
+        }
+        return millis;
+    }
+
+    private boolean exists(Long id) {
+        return entityManager.createQuery("select count(o) from Order o where o.id = :id", Long.class)
+                .setParameter("id", id)
+                .getSingleResult() > 0;
+    }
+
+    @Override
+    public Stream<OrderWithoutItems> streamWithoutItems(Specification<Order> spec, int fetchSize) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<OrderWithoutItems> query = cb.createQuery(OrderWithoutItems.class);
+        Root<Order> root = query.from(Order.class);
+        query.select(cb.construct(OrderWithoutItems.class,
+                        root.get("id"),
+                        root.get("customer").get("id"),
+                        root.get("discount"),
+                        root.get("status"),
+                        root.get("total"),
+                        root.get("createdAt"),
+                        root.get("updatedAt")))
+                .where(spec.toPredicate(root, query, cb))
+                .orderBy(cb.asc(root.get("createdAt")), cb.asc(root.get("id")));
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+}
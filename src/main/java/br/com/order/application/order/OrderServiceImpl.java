@@ -2,54 +2,104 @@ package br.com.order.application.order;
 
 import br.com.order.exceptions.BadRequestException;
 import br.com.order.exceptions.NotFoundException;
+import br.com.order.exceptions.PreconditionFailedException;
 import br.com.order.exceptions.UniqueConstraintViolationException;
+import br.com.order.application.base.RetryOnConflict;
 import br.com.order.application.customer.Customer;
 import br.com.order.application.product.Product;
-import br.com.order.application.customer.CustomerRepository;
-import br.com.order.application.product.ProductRepository;
+import br.com.order.application.customer.CustomerReferenceCache;
+import br.com.order.application.outbox.OrderEventType;
+import br.com.order.application.outbox.OrderOutbox;
+import br.com.order.application.product.ProductCache;
+import br.com.order.configs.MetricsConfig;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
 @RequiredArgsConstructor
 @Slf4j
 public class OrderServiceImpl implements IOrderService {
 
     private final OrderRepository repository;
     private final OrderMapper mapper;
-    private final ProductRepository productRepository;
-    private final CustomerRepository customerRepository;
+    private final ProductCache productCache;
+    private final CustomerReferenceCache customerCache;
+    private final OrderLockingProperties lockingProperties;
+    private final OrderLockMonitor lockMonitor;
+    private final OrderOutbox outbox;
 
     public static final String ORDER_NOT_FOUND = "Order not found";
     public static final String CUSTOMER_NOT_FOUND = "Customer not found";
     public static final String PRODUCT_NOT_FOUND = "Product %d not found";
+    public static final String PRODUCTS_NOT_FOUND = "Products %s not found";
     public static final String DUPLICATE_PRODUCT = "Duplicate product ID: %d";
     public static final String ORDER_ALREADY_PROCESSED = "Order cannot be modified as it has already been processed.";
     public static final String INVALID_STATUS_CHANGE = "Cannot change status from %s to %s";
+    public static final String ORDER_VERSION_MISMATCH = "Order has been modified, expected version %d but found %d";
+
+    private static final int BATCH_FLUSH_SIZE = 500;
+    private static final int EXPORT_FETCH_SIZE = 1000;
+    private static final Sort SCROLL_SORT = Sort.by("createdAt", "id");
+
+    private Order getOrderForUpdate(String operation, Long id, Long expectedVersion) {
+        Optional<Order> order = lockingProperties.getMode() == OrderLockingProperties.Mode.OPTIMISTIC
+                ? repository.findForUpdateById(id)
+                : lockMonitor.acquire(operation, id, () -> repository.findById(id));
+        return order.map(found -> checkVersion(found, expectedVersion))
+                .orElseThrow(() -> new NotFoundException(ORDER_NOT_FOUND));
+    }
+
+    private Order checkVersion(Order order, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(order.getVersion())) {
+            throw new PreconditionFailedException(String.format(ORDER_VERSION_MISMATCH, expectedVersion, order.getVersion()));
+        }
+        return order;
+    }
 
     private Customer getCustomer(Long id) {
-        return customerRepository.findById(id)
+        return customerCache.getReference(id)
                 .orElseThrow(() -> new NotFoundException(CUSTOMER_NOT_FOUND));
     }
 
+    private void requireProducts(List<OrderItemDTO> items, Map<Long, Product> products) {
+        List<Long> missing = items.stream()
+                .map(OrderItemDTO::getProductId)
+                .filter(productId -> !products.containsKey(productId))
+                .distinct()
+                .toList();
+        if (missing.size() == 1) {
+            throw new NotFoundException(String.format(PRODUCT_NOT_FOUND, missing.get(0)));
+        }
+        if (!missing.isEmpty()) {
+            throw new NotFoundException(String.format(PRODUCTS_NOT_FOUND, missing));
+        }
+    }
+
     private List<OrderItem> getOrderItems(Order order, List<OrderItemDTO> listItems) {
+        Map<Long, Product> products = productCache.getReferences(listItems.stream().map(OrderItemDTO::getProductId).toList());
+        requireProducts(listItems, products);
         return listItems.stream()
                 .map(item -> {
-                    Product product = productRepository.findById(item.getProductId())
-                            .orElseThrow(() -> new NotFoundException(
-                                    String.format(PRODUCT_NOT_FOUND, item.getProductId()))
-                            );
-                    var orderItem = new OrderItem(product, item.getQuantity(), item.getPrice());
+                    var orderItem = new OrderItem(products.get(item.getProductId()), item.getQuantity(), item.getPrice());
                     orderItem.setOrder(order);
                     return orderItem;
                 }).toList();
@@ -61,7 +111,7 @@ public class OrderServiceImpl implements IOrderService {
         }
     }
 
-    private void validDuplicatedProducts(List<OrderItem> existingItems, List<OrderItemDTO> newItems) {
+    static void validDuplicatedProducts(List<OrderItem> existingItems, List<OrderItemDTO> newItems) {
         Set<Long> productIds = existingItems.stream()
                 .map(item -> item.getProduct().getId())
                 .collect(Collectors.toSet());
@@ -87,7 +137,7 @@ public class OrderServiceImpl implements IOrderService {
 
     @Transactional
     @Override
-    public void create(CreateOrderDTO createOrder) {
+    public Long create(CreateOrderDTO createOrder) {
         validDuplicatedProducts(Collections.emptyList(), createOrder.getItems());
         var customer = getCustomer(createOrder.getCustomerId());
 
@@ -95,23 +145,78 @@ public class OrderServiceImpl implements IOrderService {
         order.setCustomer(customer);
         order.setStatus(OrderStatus.CREATED);
         order.setDiscount(createOrder.getDiscount());
+        order.getItems().addAll(getOrderItems(order, createOrder.getItems()));
+        order.recalculateTotals();
 
-        for (OrderItemDTO itemDTO : createOrder.getItems()) {
-            Product product = productRepository.findById(itemDTO.getProductId())
-                    .orElseThrow(() -> new NotFoundException("Product " + itemDTO.getProductId() + " not found"));
+        repository.save(order);
+        outbox.record(order, OrderEventType.CREATED);
+        return order.getId();
+    }
 
-            OrderItem item = new OrderItem(product, itemDTO.getQuantity(), itemDTO.getPrice());
-            order.addItem(item);
+    @Transactional
+    @Override
+    public List<OrderBatchResultDTO> createAll(List<CreateOrderDTO> createOrders) {
+        Map<Long, Customer> customers = customerCache.getReferences(createOrders.stream()
+                .map(CreateOrderDTO::getCustomerId)
+                .toList());
+        Map<Long, Product> products = productCache.getReferences(createOrders.stream()
+                .flatMap(createOrder -> createOrder.getItems().stream())
+                .map(OrderItemDTO::getProductId)
+                .toList());
+
+        OrderBatchResultDTO[] results = new OrderBatchResultDTO[createOrders.size()];
+        List<Order> pendingOrders = new ArrayList<>(createOrders.size());
+        List<Integer> pendingIndexes = new ArrayList<>(createOrders.size());
+
+        for (int index = 0; index < createOrders.size(); index++) {
+            try {
+                pendingOrders.add(buildOrder(createOrders.get(index), customers, products));
+                pendingIndexes.add(index);
+            } catch (NotFoundException | UniqueConstraintViolationException e) {
+                results[index] = OrderBatchResultDTO.failed(index, e.getMessage());
+            }
         }
 
-        repository.save(order);
+        for (int from = 0; from < pendingOrders.size(); from += BATCH_FLUSH_SIZE) {
+            int to = Math.min(from + BATCH_FLUSH_SIZE, pendingOrders.size());
+            List<Order> saved = repository.saveAll(pendingOrders.subList(from, to));
+            outbox.recordAll(saved, OrderEventType.CREATED);
+            repository.flush();
+            for (int i = 0; i < saved.size(); i++) {
+                int index = pendingIndexes.get(from + i);
+                results[index] = OrderBatchResultDTO.created(index, saved.get(i).getId());
+            }
+        }
+
+        log.info("Batch of {} orders processed: {} created", createOrders.size(), pendingOrders.size());
+        return List.of(results);
     }
 
+    private Order buildOrder(CreateOrderDTO createOrder, Map<Long, Customer> customers, Map<Long, Product> products) {
+        validDuplicatedProducts(Collections.emptyList(), createOrder.getItems());
+        Customer customer = customers.get(createOrder.getCustomerId());
+        if (customer == null) {
+            throw new NotFoundException(CUSTOMER_NOT_FOUND);
+        }
+
+        var order = new Order();
+        order.setCustomer(customer);
+        order.setStatus(OrderStatus.CREATED);
+        order.setDiscount(createOrder.getDiscount());
+
+        requireProducts(createOrder.getItems(), products);
+        for (OrderItemDTO itemDTO : createOrder.getItems()) {
+            order.addItem(new OrderItem(products.get(itemDTO.getProductId()), itemDTO.getQuantity(), itemDTO.getPrice()));
+        }
+        order.recalculateTotals();
+        return order;
+    }
+
+    @RetryOnConflict
     @Transactional
     @Override
-    public void update(Long id, UpdateOrderDTO updateOrder) {
-        Order order = repository.findById(id)
-                .orElseThrow(() -> new NotFoundException(ORDER_NOT_FOUND));
+    public void update(Long id, UpdateOrderDTO updateOrder, Long expectedVersion) {
+        Order order = getOrderForUpdate("update", id, expectedVersion);
 
         boolean statusChanged = false;
 
@@ -128,20 +233,13 @@ public class OrderServiceImpl implements IOrderService {
                 throw new BadRequestException(ORDER_ALREADY_PROCESSED);
             }
             repository.save(order);
+            outbox.record(order, OrderEventType.STATUS_CHANGED);
             return;
         }
 
         if (updateOrder.getItems() != null) {
             validDuplicatedProducts(order.getItems(), updateOrder.getItems());
-            List<OrderItem> updatedItems = updateOrder.getItems().stream().map(itemDTO -> {
-                Product product = productRepository.findById(itemDTO.getProductId())
-                        .orElseThrow(() -> new NotFoundException(
-                                String.format(PRODUCT_NOT_FOUND, itemDTO.getProductId())));
-
-                OrderItem orderItem = new OrderItem(product, itemDTO.getQuantity(), itemDTO.getPrice());
-                orderItem.setOrder(order);
-                return orderItem;
-            }).toList();
+            List<OrderItem> updatedItems = getOrderItems(order, updateOrder.getItems());
 
             order.getItems().clear();
             order.getItems().addAll(updatedItems);
@@ -156,29 +254,33 @@ public class OrderServiceImpl implements IOrderService {
             order.setDiscount(updateOrder.getDiscount());
         }
 
+        order.recalculateTotals();
         repository.save(order);
+        outbox.record(order, statusChanged ? OrderEventType.STATUS_CHANGED : OrderEventType.UPDATED);
     }
 
+    @RetryOnConflict
     @Transactional
     @Override
-    public void addItems(Long id, List<OrderItemDTO> items) {
-        Order order = repository.findById(id)
-                .orElseThrow(() -> new NotFoundException(ORDER_NOT_FOUND));
+    public void addItems(Long id, List<OrderItemDTO> items, Long expectedVersion) {
+        Order order = getOrderForUpdate("addItems", id, expectedVersion);
 
         validateOrderStatus(order);
 
         validDuplicatedProducts(order.getItems(), items);
         var orderItems = getOrderItems(order, items);
         order.getItems().addAll(orderItems);
+        order.recalculateTotals();
 
         repository.save(order);
+        outbox.record(order, OrderEventType.ITEMS_CHANGED);
     }
 
+    @RetryOnConflict
     @Transactional
     @Override
-    public void updateItem(Long orderId, Long productId, UpdateOrderItemDTO updateOrderItemDTO) {
-        Order order = repository.findById(orderId)
-                .orElseThrow(() -> new NotFoundException(ORDER_NOT_FOUND));
+    public void updateItem(Long orderId, Long productId, UpdateOrderItemDTO updateOrderItemDTO, Long expectedVersion) {
+        Order order = getOrderForUpdate("updateItem", orderId, expectedVersion);
 
         validateOrderStatus(order);
 
@@ -191,16 +293,18 @@ public class OrderServiceImpl implements IOrderService {
         item.setQuantity(updateOrderItemDTO.getQuantity());
         item.setPrice(updateOrderItemDTO.getPrice());
         item.setOrder(order);
+        order.recalculateTotals();
 
         repository.save(order);
+        outbox.record(order, OrderEventType.ITEMS_CHANGED);
     }
 
 
+    @RetryOnConflict
     @Transactional
     @Override
-    public void deleteItem(Long orderId, Long productId) {
-        Order order = repository.findById(orderId)
-                .orElseThrow(() -> new NotFoundException(ORDER_NOT_FOUND));
+    public void deleteItem(Long orderId, Long productId, Long expectedVersion) {
+        Order order = getOrderForUpdate("deleteItem", orderId, expectedVersion);
 
         validateOrderStatus(order);
 
@@ -212,17 +316,20 @@ public class OrderServiceImpl implements IOrderService {
                 );
 
         order.getItems().remove(item);
+        order.recalculateTotals();
         repository.save(order);
+        outbox.record(order, OrderEventType.ITEMS_CHANGED);
     }
 
+    @RetryOnConflict
     @Transactional
     @Override
     public void delete(Long orderId) {
-        Order order = repository.findById(orderId)
-                .orElseThrow(() -> new NotFoundException(ORDER_NOT_FOUND));
+        Order order = getOrderForUpdate("delete", orderId, null);
 
         validateOrderStatus(order);
 
+        outbox.record(order, OrderEventType.DELETED);
         repository.delete(order);
     }
 
@@ -235,10 +342,52 @@ public class OrderServiceImpl implements IOrderService {
         return repository.findAll(spec, pageable).map(mapper::toOrderWithoutItems);
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
+    @Override
+    public OrderSliceDTO scrollOrders(OrderStatus status, Long customerId, Long productId, String cursor, int size) {
+        Specification<Order> spec = Specification.where(OrderSpecifications.filterByStatus(status))
+                .and(OrderSpecifications.filterByCustomerId(customerId))
+                .and(OrderSpecifications.filterByProductId(productId))
+                .and(OrderSpecifications.after(cursor == null ? null : OrderCursor.decode(cursor)));
+
+        List<Order> orders = repository.findBy(spec, query -> query
+                .sortBy(SCROLL_SORT)
+                .limit(size + 1)
+                .all());
+
+        boolean hasNext = orders.size() > size;
+        List<Order> slice = hasNext ? orders.subList(0, size) : orders;
+        String nextCursor = hasNext ? OrderCursor.of(slice.get(slice.size() - 1)).encode() : null;
+        return new OrderSliceDTO(slice.stream().map(mapper::toOrderWithoutItems).toList(), slice.size(), hasNext, nextCursor);
+    }
+
+    /**
+     * Hands every matching order to {@code consumer} while the cursor is open, without paging or counting, so
+     * memory does not grow with the number of orders exported.
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public long exportOrders(OrderStatus status, Long customerId, Long productId, Consumer<OrderWithoutItems> consumer) {
+        Specification<Order> spec = Specification.where(OrderSpecifications.filterByStatus(status))
+                .and(OrderSpecifications.filterByCustomerId(customerId))
+                .and(OrderSpecifications.filterByProductId(productId));
+
+        long exported = 0;
+        try (Stream<OrderWithoutItems> orders = repository.streamWithoutItems(spec, EXPORT_FETCH_SIZE)) {
+            Iterator<OrderWithoutItems> iterator = orders.iterator();
+            while (iterator.hasNext()) {
+                consumer.accept(iterator.next());
+                exported++;
+            }
+        }
+        log.info("Exported {} orders", exported);
+        return exported;
+    }
+
+    @Transactional(readOnly = true)
     @Override
     public OrderDTO getOrderById(Long id) {
-        return repository.findById(id).map(mapper::toOrder)
+        return repository.findWithItemsById(id).map(mapper::toOrder)
                 .orElseThrow(() -> new NotFoundException(ORDER_NOT_FOUND));
     }
 }
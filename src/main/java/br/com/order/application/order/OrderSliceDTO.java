@@ -0,0 +1,24 @@
+package br.com.order.application.order;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderSliceDTO implements Serializable {
+    @Serial
+    private static final long serialVersionUID = -4412296378517180725L;
+
+    private List<OrderWithoutItems> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+}
@@ -1,6 +1,7 @@
 package br.com.order.application.order;
 
-import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
 import org.springframework.data.jpa.domain.Specification;
 
 public class OrderSpecifications {
@@ -15,8 +16,21 @@ public class OrderSpecifications {
     public static Specification<Order> filterByProductId(Long productId) {
         return (root, query, cb) -> {
             if (productId == null) return cb.conjunction();
-            Join<Order, OrderItem> orderItems = root.join("items");
-            return cb.equal(orderItems.get("product").get("id"), productId);
+            Subquery<Long> items = query.subquery(Long.class);
+            Root<OrderItem> item = items.from(OrderItem.class);
+            items.select(item.get("id"))
+                    .where(cb.equal(item.get("order"), root), cb.equal(item.get("product").get("id"), productId));
+            return cb.exists(items);
+        };
+    }
+
+    public static Specification<Order> after(OrderCursor cursor) {
+        return (root, query, cb) -> {
+            if (cursor == null) return cb.conjunction();
+            return cb.or(
+                    cb.greaterThan(root.get("createdAt"), cursor.createdAt()),
+                    cb.and(cb.equal(root.get("createdAt"), cursor.createdAt()), cb.greaterThan(root.get("id"), cursor.id()))
+            );
         };
     }
 }
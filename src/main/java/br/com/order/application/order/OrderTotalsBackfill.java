@@ -0,0 +1,52 @@
+package br.com.order.application.order;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * One-off job that fills the stored {@code subtotal}/{@code total} of orders created before those
+ * columns existed. Runs at startup when {@code order.totals.backfill.enabled=true}, walking the
+ * table in id windows so that each UPDATE touches a bounded number of rows.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "order.totals.backfill.enabled", havingValue = "true")
+public class OrderTotalsBackfill implements ApplicationRunner {
+
+    private static final String ITEMS_SUBTOTAL =
+            "COALESCE((SELECT SUM(i.price * i.quantity) FROM order_items i WHERE i.order_id = o.id), 0)";
+
+    private static final String UPDATE_TOTALS = "UPDATE orders o SET subtotal = " + ITEMS_SUBTOTAL +
+            ", total = GREATEST(" + ITEMS_SUBTOTAL + " - COALESCE(o.discount, 0), 0)" +
+            " WHERE o.id >= ? AND o.id < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${order.totals.backfill.batch-size:10000}")
+    private int batchSize;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Long minId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM orders", Long.class);
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM orders", Long.class);
+        if (minId == null || maxId == null) {
+            log.info("Order totals backfill: no orders to update");
+            return;
+        }
+
+        log.info("Order totals backfill started for ids {} to {}", minId, maxId);
+        long updated = 0;
+        for (long from = minId; from <= maxId; from += batchSize) {
+            updated += jdbcTemplate.update(UPDATE_TOTALS, from, from + batchSize);
+            log.info("Order totals backfill: {} orders updated, up to id {}", updated, Math.min(from + batchSize - 1, maxId));
+        }
+        log.info("Order totals backfill finished: {} orders updated", updated);
+    }
+}
@@ -0,0 +1,61 @@
+package br.com.order.application.order;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Space-Saving sketch of the most frequent keys in a stream, using memory bounded by {@code capacity}.
+ * Once full, a new key replaces the least frequent one and inherits its count as the possible overestimation
+ * ({@code error}), so every key with a true frequency above {@code total / capacity} is guaranteed to be kept.
+ */
+class TopKSketch {
+
+    record Entry(long key, long count, long error) {
+    }
+
+    private final int capacity;
+    private final Map<Long, long[]> counters;
+
+    TopKSketch(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+    }
+
+    synchronized void add(long key) {
+        long[] counter = counters.get(key);
+        if (counter != null) {
+            counter[0]++;
+            return;
+        }
+        if (counters.size() < capacity) {
+            counters.put(key, new long[]{1, 0});
+            return;
+        }
+        Map.Entry<Long, long[]> min = null;
+        for (Map.Entry<Long, long[]> entry : counters.entrySet()) {
+            if (min == null || entry.getValue()[0] < min.getValue()[0]) {
+                min = entry;
+            }
+        }
+        long minCount = min.getValue()[0];
+        counters.remove(min.getKey());
+        counters.put(key, new long[]{minCount + 1, minCount});
+    }
+
+    synchronized List<Entry> top(int limit) {
+        List<Entry> entries = new ArrayList<>(counters.size());
+        counters.forEach((key, counter) -> entries.add(new Entry(key, counter[0], counter[1])));
+        entries.sort(Comparator.comparingLong(Entry::count).reversed().thenComparingLong(Entry::key));
+        return entries.subList(0, Math.min(limit, entries.size()));
+    }
+
+    synchronized void clear() {
+        counters.clear();
+    }
+}
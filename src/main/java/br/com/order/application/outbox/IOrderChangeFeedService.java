@@ -0,0 +1,5 @@
+package br.com.order.application.outbox;
+
+public interface IOrderChangeFeedService {
+    OrderChangesDTO changes(long since, int limit);
+}
@@ -0,0 +1,82 @@
+package br.com.order.application.outbox;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Change feed over the outbox. Event ids come from pooled sequence blocks and transactions commit out of order, so
+ * ids cannot be used as offsets; instead each read first sequences the committed events that have no position yet.
+ * Sequencing holds the lock on {@link OrderEventSequence}, so runs are serialized and a run can only see events
+ * committed after the previous one: positions grow in commit order and a consumer never skips an event by resuming
+ * after the last position it read. Readers that find the sequence locked just serve what is already sequenced.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderChangeFeedServiceImpl implements IOrderChangeFeedService {
+
+    private static final int SEQUENCE_BATCH_SIZE = 1000;
+
+    private final OrderEventRepository eventRepository;
+    private final OrderEventSequenceRepository sequenceRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Transactional
+    @Override
+    public OrderChangesDTO changes(long since, int limit) {
+        sequence();
+        List<OrderEvent> events = eventRepository.findByPositionGreaterThanOrderByPosition(since, Limit.of(limit + 1));
+        boolean hasMore = events.size() > limit;
+        List<OrderEventDTO> page = events.stream()
+                .limit(limit)
+                .map(OrderEventDTO::of)
+                .toList();
+        long nextSince = page.isEmpty() ? since : page.get(page.size() - 1).getPosition();
+        return new OrderChangesDTO(page, nextSince, hasMore);
+    }
+
+    private void sequence() {
+        sequenceRepository.lockIfAvailable(OrderEventSequence.ID)
+                .or(() -> {
+                    createSequenceIfMissing();
+                    return sequenceRepository.lockIfAvailable(OrderEventSequence.ID);
+                })
+                .ifPresent(sequence -> {
+                    long position = sequence.getLastPosition();
+                    List<OrderEvent> events = eventRepository.findUnsequenced(Limit.of(SEQUENCE_BATCH_SIZE));
+                    for (OrderEvent event : events) {
+                        event.setPosition(++position);
+                    }
+                    sequence.setLastPosition(position);
+                    if (!events.isEmpty()) {
+                        log.debug("Sequenced {} order events up to position {}", events.size(), position);
+                    }
+                });
+    }
+
+    /**
+     * The migration creates the row; databases built from the entities (tests, H2) get it on first use.
+     */
+    private void createSequenceIfMissing() {
+        if (sequenceRepository.existsById(OrderEventSequence.ID)) {
+            return;
+        }
+        TransactionTemplate requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            requiresNew.executeWithoutResult(status ->
+                    sequenceRepository.saveAndFlush(new OrderEventSequence(OrderEventSequence.ID, 0)));
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Order event sequence created concurrently");
+        }
+    }
+}
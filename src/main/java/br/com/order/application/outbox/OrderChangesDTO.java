@@ -0,0 +1,23 @@
+package br.com.order.application.outbox;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderChangesDTO implements Serializable {
+    @Serial
+    private static final long serialVersionUID = -6817315003526145092L;
+
+    private List<OrderEventDTO> events;
+    private long nextSince;
+    private boolean hasMore;
+}
@@ -0,0 +1,40 @@
+package br.com.order.application.outbox;
+
+import br.com.order.application.base.BaseEntity;
+import br.com.order.application.order.OrderStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Outbox row written in the same transaction as the order change it describes. {@code position} stays empty until
+ * {@link OrderChangeFeedServiceImpl} sequences the committed events; it is the offset consumers resume from.
+ */
+@Entity
+@Table(name = "order_events")
+@Getter
+@Setter
+@NoArgsConstructor
+public class OrderEvent extends BaseEntity {
+
+    @Column(unique = true)
+    private Long position;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OrderEventType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private OrderStatus status;
+
+    public OrderEvent(Long orderId, OrderEventType type, OrderStatus status) {
+        this.orderId = orderId;
+        this.type = type;
+        this.status = status;
+    }
+}
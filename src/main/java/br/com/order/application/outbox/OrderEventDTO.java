@@ -0,0 +1,31 @@
+package br.com.order.application.outbox;
+
+import br.com.order.application.order.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderEventDTO implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 2954180472307168529L;
+
+    private long position;
+    private Long orderId;
+    private OrderEventType type;
+    private OrderStatus status;
+    private LocalDateTime occurredAt;
+
+    public static OrderEventDTO of(OrderEvent event) {
+        return new OrderEventDTO(event.getPosition(), event.getOrderId(), event.getType(), event.getStatus(),
+                event.getCreatedAt());
+    }
+}
@@ -0,0 +1,17 @@
+package br.com.order.application.outbox;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface OrderEventRepository extends JpaRepository<OrderEvent, Long> {
+
+    @Query("select e from OrderEvent e where e.position is null order by e.createdAt, e.id")
+    List<OrderEvent> findUnsequenced(Limit limit);
+
+    List<OrderEvent> findByPositionGreaterThanOrderByPosition(long position, Limit limit);
+}
@@ -0,0 +1,31 @@
+package br.com.order.application.outbox;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Single row holding the last assigned event position. Locking it serializes the sequencing runs, so positions are
+ * handed out in commit order.
+ */
+@Entity
+@Table(name = "order_event_sequence")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderEventSequence {
+
+    public static final long ID = 1L;
+
+    @Id
+    private Long id;
+
+    @Column(name = "last_position", nullable = false)
+    private long lastPosition;
+}
@@ -0,0 +1,17 @@
+package br.com.order.application.outbox;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface OrderEventSequenceRepository extends JpaRepository<OrderEventSequence, Long> {
+
+    /**
+     * Empty when another transaction is sequencing right now (or the row does not exist yet).
+     */
+    @Query(value = "SELECT * FROM order_event_sequence WHERE id = :id FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    Optional<OrderEventSequence> lockIfAvailable(Long id);
+}
@@ -0,0 +1,9 @@
+package br.com.order.application.outbox;
+
+public enum OrderEventType {
+    CREATED,
+    UPDATED,
+    STATUS_CHANGED,
+    ITEMS_CHANGED,
+    DELETED
+}
@@ -0,0 +1,27 @@
+package br.com.order.application.outbox;
+
+import br.com.order.application.order.Order;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * Writes order events in the caller's transaction, so an event exists if and only if its change was committed.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderOutbox {
+
+    private final OrderEventRepository repository;
+
+    public void record(Order order, OrderEventType type) {
+        repository.save(new OrderEvent(order.getId(), type, order.getStatus()));
+    }
+
+    public void recordAll(Collection<Order> orders, OrderEventType type) {
+        repository.saveAll(orders.stream()
+                .map(order -> new OrderEvent(order.getId(), type, order.getStatus()))
+                .toList());
+    }
+}
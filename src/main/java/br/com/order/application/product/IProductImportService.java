@@ -0,0 +1,8 @@
+package br.com.order.application.product;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface IProductImportService {
+    ProductImportReportDTO importProducts(InputStream input, ProductImportFormat format) throws IOException;
+}
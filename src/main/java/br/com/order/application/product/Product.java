@@ -4,6 +4,9 @@ import br.com.order.application.base.BaseEntity;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -12,14 +15,15 @@ import lombok.Setter;
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "products")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(name = "products", uniqueConstraints = @UniqueConstraint(name = "uc_products_sku", columnNames = "sku"))
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
 public class Product extends BaseEntity {
 
-    @Column(unique = true, length = 50)
+    @Column(length = 50)
     private String sku;
     @Column(length = 150)
     private String name;
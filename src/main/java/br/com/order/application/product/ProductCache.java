@@ -0,0 +1,120 @@
+package br.com.order.application.product;
+
+import br.com.order.application.admin.CacheStatsDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Read-through cache of products by id. It keeps immutable snapshots rather than entities, so nothing bound to the
+ * loading thread's persistence context is shared: reads get a fresh {@link ProductDTO} and orders point at known
+ * products through {@link ProductRepository#getReferenceById}, as {@code CustomerReferenceCache} does for customers.
+ * Writes go through {@link ProductRepository} and call {@link #evict(Product)}.
+ */
+@Component
+public class ProductCache implements MeterBinder {
+
+    public static final String NAME = "products";
+    private static final int LOOKUP_CHUNK_SIZE = 1000;
+
+    private record Snapshot(Long id, String sku, String name, BigDecimal price,
+                            LocalDateTime createdAt, LocalDateTime updatedAt) {
+
+        static Snapshot of(Product product) {
+            return new Snapshot(product.getId(), product.getSku(), product.getName(), product.getPrice(),
+                    product.getCreatedAt(), product.getUpdatedAt());
+        }
+
+        ProductDTO toDTO() {
+            return new ProductDTO(id, sku, name, price, createdAt, updatedAt);
+        }
+    }
+
+    private final ProductRepository repository;
+    private final Cache<Long, Snapshot> byId;
+
+    public ProductCache(ProductRepository repository,
+                        @Value("${order.cache.products.maximum-size:10000}") long maximumSize,
+                        @Value("${order.cache.products.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.repository = repository;
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    public Optional<ProductDTO> findById(Long id) {
+        return Optional.ofNullable(byId.get(id, key -> repository.findById(key).map(Snapshot::of).orElse(null)))
+                .map(Snapshot::toDTO);
+    }
+
+    /**
+     * Returns references for the cached products and loads the others with chunked {@code IN} queries. Ids that do
+     * not exist are absent from the result and are not cached. Must be called inside a transaction, since the
+     * returned entities are bound to the current persistence context.
+     */
+    public Map<Long, Product> getReferences(Collection<Long> ids) {
+        Map<Long, Product> products = new HashMap<>();
+        List<Long> unknown = new ArrayList<>();
+        for (Long id : new LinkedHashSet<>(ids)) {
+            if (byId.getIfPresent(id) != null) {
+                products.put(id, repository.getReferenceById(id));
+            } else {
+                unknown.add(id);
+            }
+        }
+        for (int from = 0; from < unknown.size(); from += LOOKUP_CHUNK_SIZE) {
+            int to = Math.min(from + LOOKUP_CHUNK_SIZE, unknown.size());
+            repository.findAllById(unknown.subList(from, to)).forEach(product -> {
+                byId.put(product.getId(), Snapshot.of(product));
+                products.put(product.getId(), product);
+            });
+        }
+        return products;
+    }
+
+    /**
+     * Evicts the product right away and again once the surrounding transaction commits, so a read that
+     * reloads the old row before the commit does not stay cached.
+     */
+    public void evict(Product product) {
+        Long id = product.getId();
+        if (id == null) {
+            return;
+        }
+        byId.invalidate(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    byId.invalidate(id);
+                }
+            });
+        }
+    }
+
+    public void invalidateAll() {
+        byId.invalidateAll();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, byId, NAME + ".id");
+    }
+
+    public List<CacheStatsDTO> stats() {
+        return List.of(CacheStatsDTO.of(NAME + ".id", byId));
+    }
+}
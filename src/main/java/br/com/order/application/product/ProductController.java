@@ -12,9 +12,13 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+
 @OpenAPIDefinition(
         info = @Info(
                 title = "Product API",
@@ -27,6 +31,7 @@ import org.springframework.web.bind.annotation.*;
 @RequestMapping("/products")
 public class ProductController {
     private final IProductService service;
+    private final IProductImportService importService;
 
     @Operation(
             summary = "Create a new product",
@@ -46,6 +51,26 @@ public class ProductController {
         service.create(dto);
     }
 
+    @Operation(
+            summary = "Import products",
+            description = "Creates or updates products by SKU from a CSV (text/csv, header with sku, name and price) or " +
+                    "NDJSON (application/x-ndjson, one product object per line) body. The body is read as it arrives " +
+                    "and written in batches; invalid lines are reported and skipped without stopping the import.",
+            tags = {"Product"},
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Import processed, see the report",
+                            content = @Content(schema = @Schema(implementation = ProductImportReportDTO.class))),
+                    @ApiResponse(responseCode = "400", description = "Bad request. Check the CSV header.",
+                            content = @Content(schema = @Schema(implementation = ErrorDTO.class))),
+                    @ApiResponse(responseCode = "415", description = "Unsupported content type")
+            }
+    )
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ProductImportReportDTO importProducts(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                 InputStream body) throws IOException {
+        return importService.importProducts(body, ProductImportFormat.of(contentType));
+    }
+
     @Operation(
             summary = "Update an existing product",
             description = "Update a product by its ID",
@@ -0,0 +1,25 @@
+package br.com.order.application.product;
+
+import br.com.order.exceptions.BadRequestException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+
+@Getter
+@RequiredArgsConstructor
+public enum ProductImportFormat {
+    CSV("text/csv"),
+    NDJSON("application/x-ndjson");
+
+    private final String contentType;
+
+    public static ProductImportFormat of(String contentType) {
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        for (ProductImportFormat format : values()) {
+            if (mediaType.isCompatibleWith(MediaType.parseMediaType(format.contentType))) {
+                return format;
+            }
+        }
+        throw new BadRequestException("Unsupported import format: " + contentType);
+    }
+}
@@ -0,0 +1,145 @@
+package br.com.order.application.product;
+
+import br.com.order.exceptions.BadRequestException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads an import body one line at a time, so only the current line is held in memory. NDJSON lines are
+ * {@link CreateProductDTO} objects; CSV starts with a header naming the {@code sku}, {@code name} and {@code price}
+ * columns, in any order, and fields may be quoted ({@code "a, b"}, {@code "a ""b"""}) but not span lines.
+ * A line that cannot be parsed is returned with its error instead of failing the whole import.
+ */
+public class ProductImportReader implements Closeable {
+
+    public record Line(long number, CreateProductDTO product, String error) {
+    }
+
+    private final ProductImportFormat format;
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+    private long number;
+    private int skuColumn = -1;
+    private int nameColumn = -1;
+    private int priceColumn = -1;
+    private int columns;
+
+    public ProductImportReader(InputStream input, ProductImportFormat format, ObjectMapper objectMapper) throws IOException {
+        this.format = format;
+        this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        this.objectMapper = objectMapper;
+        if (format == ProductImportFormat.CSV) {
+            readHeader();
+        }
+    }
+
+    private void readHeader() throws IOException {
+        String header = nextLine();
+        List<String> names = header == null ? List.of() : split(header);
+        for (int i = 0; i < names.size(); i++) {
+            switch (names.get(i).trim().toLowerCase()) {
+                case "sku" -> skuColumn = i;
+                case "name" -> nameColumn = i;
+                case "price" -> priceColumn = i;
+                default -> {
+                }
+            }
+        }
+        if (skuColumn < 0 || nameColumn < 0 || priceColumn < 0) {
+            throw new BadRequestException("The CSV header must name the sku, name and price columns");
+        }
+        columns = names.size();
+    }
+
+    /**
+     * Returns the next non-blank line, or {@code null} at the end of the body.
+     */
+    public Line next() throws IOException {
+        String line = nextLine();
+        if (line == null) {
+            return null;
+        }
+        try {
+            return new Line(number, format == ProductImportFormat.CSV ? fromCsv(line) : fromJson(line), null);
+        } catch (IllegalArgumentException | JsonProcessingException e) {
+            return new Line(number, null, e.getMessage());
+        }
+    }
+
+    private String nextLine() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            number++;
+        } while (line != null && line.isBlank());
+        return line;
+    }
+
+    private CreateProductDTO fromJson(String line) throws JsonProcessingException {
+        CreateProductDTO product = objectMapper.readValue(line, CreateProductDTO.class);
+        if (product == null) {
+            throw new IllegalArgumentException("Expected a product object");
+        }
+        return product;
+    }
+
+    private CreateProductDTO fromCsv(String line) {
+        List<String> fields = split(line);
+        if (fields.size() != columns) {
+            throw new IllegalArgumentException("Expected " + columns + " columns but found " + fields.size());
+        }
+        String price = fields.get(priceColumn).trim();
+        try {
+            return new CreateProductDTO(fields.get(skuColumn).trim(), fields.get(nameColumn).trim(),
+                    price.isEmpty() ? null : new BigDecimal(price));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid price: " + price);
+        }
+    }
+
+    private static List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
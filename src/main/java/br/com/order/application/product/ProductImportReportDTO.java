@@ -0,0 +1,40 @@
+package br.com.order.application.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductImportReportDTO implements Serializable {
+    @Serial
+    private static final long serialVersionUID = -2713895416480772095L;
+
+    public static final int MAX_ERRORS = 100;
+
+    private long read;
+    private long created;
+    private long updated;
+    private long unchanged;
+    private long rejected;
+    private List<String> errors = new ArrayList<>();
+
+    /**
+     * Counts the rejected line; only the first {@link #MAX_ERRORS} messages are kept, so a bad file cannot make the
+     * report grow without bound.
+     */
+    public void reject(long line, String error) {
+        rejected++;
+        if (errors.size() < MAX_ERRORS) {
+            errors.add("Line " + line + ": " + error);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package br.com.order.application.product;
+
+import br.com.order.configs.MetricsConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk catalog refresh. Lines are read and validated one at a time and upserted by SKU in batches of
+ * {@value #BATCH_SIZE}, each in its own transaction: one query reads which SKUs already exist (as DTOs, so no entity
+ * piles up in the request's persistence context), unchanged products are skipped, and the rest go to the database in
+ * a single {@link ProductRepository#upsertBySku} batch. A batch the database refuses rejects only its own lines; the
+ * batches before it stay committed.
+ */
+@Slf4j
+@Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
+@RequiredArgsConstructor
+public class ProductImportServiceImpl implements IProductImportService {
+
+    static final int BATCH_SIZE = 500;
+
+    private final ProductRepository repository;
+    private final ProductCache productCache;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+
+    private record BatchResult(long created, long updated, long unchanged) {
+    }
+
+    @Override
+    public ProductImportReportDTO importProducts(InputStream input, ProductImportFormat format) throws IOException {
+        ProductImportReportDTO report = new ProductImportReportDTO();
+        Map<String, ProductImportReader.Line> batch = new LinkedHashMap<>();
+        try (ProductImportReader reader = new ProductImportReader(input, format, objectMapper)) {
+            for (ProductImportReader.Line line = reader.next(); line != null; line = reader.next()) {
+                report.setRead(report.getRead() + 1);
+                String error = line.error() != null ? line.error() : validate(line.product());
+                if (error != null) {
+                    report.reject(line.number(), error);
+                    continue;
+                }
+                // a repeated SKU goes to the next batch, so the later line wins as if the lines were sent one by one
+                String key = line.product().getSku().toLowerCase();
+                if (batch.size() >= BATCH_SIZE || batch.containsKey(key)) {
+                    flush(batch, report);
+                }
+                batch.put(key, line);
+            }
+        }
+        flush(batch, report);
+        log.info("Imported products: {} read, {} created, {} updated, {} unchanged, {} rejected", report.getRead(),
+                report.getCreated(), report.getUpdated(), report.getUnchanged(), report.getRejected());
+        return report;
+    }
+
+    private String validate(CreateProductDTO product) {
+        Set<ConstraintViolation<CreateProductDTO>> violations = validator.validate(product);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining(" "));
+    }
+
+    private void flush(Map<String, ProductImportReader.Line> batch, ProductImportReportDTO report) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<ProductImportReader.Line> lines = List.copyOf(batch.values());
+        batch.clear();
+        try {
+            BatchResult result = transactionTemplate.execute(status -> upsert(lines));
+            report.setCreated(report.getCreated() + result.created());
+            report.setUpdated(report.getUpdated() + result.updated());
+            report.setUnchanged(report.getUnchanged() + result.unchanged());
+        } catch (DataAccessException e) {
+            log.error("Product import batch of {} lines failed", lines.size(), e);
+            lines.forEach(line -> report.reject(line.number(), "Batch failed: " + e.getMostSpecificCause().getMessage()));
+        }
+    }
+
+    private BatchResult upsert(List<ProductImportReader.Line> lines) {
+        Map<String, ProductDTO> existing = repository.findAllBySkuIgnoreCase(
+                        lines.stream().map(line -> line.product().getSku().toLowerCase()).toList())
+                .stream()
+                .collect(Collectors.toMap(product -> product.getSku().toLowerCase(), Function.identity()));
+
+        List<Product> changed = new ArrayList<>();
+        long created = 0;
+        long unchanged = 0;
+        for (ProductImportReader.Line line : lines) {
+            CreateProductDTO dto = line.product();
+            ProductDTO current = existing.get(dto.getSku().toLowerCase());
+            if (current == null) {
+                created++;
+            } else if (Objects.equals(current.getName(), dto.getName())
+                    && current.getPrice() != null && current.getPrice().compareTo(dto.getPrice()) == 0) {
+                unchanged++;
+                continue;
+            }
+            Product product = new Product(current == null ? dto.getSku() : current.getSku(), dto.getName(), dto.getPrice());
+            product.setId(current == null ? null : current.getId());
+            changed.add(product);
+        }
+
+        repository.upsertBySku(changed);
+        changed.forEach(productCache::evict);
+        return new BatchResult(created, changed.size() - created, unchanged);
+    }
+}
@@ -1,13 +1,21 @@
 package br.com.order.application.product;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
-@Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
-    Page<Product> findByNameContainsIgnoreCaseOrSkuContainsIgnoreCase(String name, String sku, Pageable pageable);
+import java.util.Collection;
+import java.util.List;
 
-    boolean existsBySku(String sku);
+@Repository
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductRepositoryCustom {
+    /**
+     * Finds the products whose SKU matches one of {@code lowerCaseSkus} ignoring case, as the {@code lower(sku)}
+     * unique index does. Returns DTOs rather than entities, so nothing is left managed (and stale) in the persistence
+     * context after {@link #upsertBySku} rewrites the rows through JDBC.
+     */
+    @Query("""
+            select new br.com.order.application.product.ProductDTO(p.id, p.sku, p.name, p.price, p.createdAt, p.updatedAt)
+            from Product p where lower(p.sku) in :lowerCaseSkus""")
+    List<ProductDTO> findAllBySkuIgnoreCase(Collection<String> lowerCaseSkus);
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package br.com.order.application.product;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+public interface ProductRepositoryCustom {
+
+    /**
+     * Inserts the products or, when their SKU already exists in any case, updates the name and price of the existing
+     * row (keeping its SKU as stored), in a single JDBC batch. Products without an id are given one from the entity's sequence; on a SKU conflict that id
+     * is simply not used. Runs in the caller's transaction.
+     */
+    void upsertBySku(List<Product> products);
+
+    /**
+     * Finds the products whose name or SKU contains {@code term} ignoring case, ranked by similarity to it unless
+     * {@code pageable} is sorted. {@code term} is matched literally, {@code %} and {@code _} included.
+     */
+    Page<Product> search(String term, Pageable pageable);
+}
@@ -0,0 +1,181 @@
+package br.com.order.application.product;
+
+import br.com.order.application.base.Dialects;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Parameter;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.ParameterExpression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * SKU upsert for bulk imports. PostgreSQL gets {@code INSERT ... ON CONFLICT}, which stays correct when another
+ * transaction inserts the same SKU concurrently; other databases (e.g. H2) get the standard {@code MERGE}. Both go
+ * through plain JDBC, bypassing the persistence context, so the written products are evicted from the second-level
+ * cache afterwards.
+ * <p>
+ * Product search filters with {@code lower(name) LIKE '%term%' OR lower(sku) LIKE '%term%'}, which PostgreSQL answers
+ * from the {@code gin_trgm_ops} indexes on {@code lower(name)} and {@code lower(sku)} (V10) instead of scanning the
+ * table, and ranks the matches by {@code pg_trgm} similarity. Databases without {@code pg_trgm} (e.g. H2) run the same
+ * filter and rank exact matches first, then prefixes, then any other occurrence.
+ */
+@RequiredArgsConstructor
+public class ProductRepositoryImpl implements ProductRepositoryCustom {
+
+    static final String UPSERT_POSTGRESQL = """
+            INSERT INTO products (id, created_at, updated_at, sku, name, price) VALUES (?, ?, ?, ?, ?, ?)
+            ON CONFLICT (lower(sku))
+            DO UPDATE SET name = EXCLUDED.name, price = EXCLUDED.price, updated_at = EXCLUDED.updated_at""";
+
+    static final String UPSERT_MERGE = """
+            MERGE INTO products p
+            USING (VALUES (CAST(? AS BIGINT), CAST(? AS TIMESTAMP), CAST(? AS TIMESTAMP), CAST(? AS VARCHAR(50)),
+                           CAST(? AS VARCHAR(150)), CAST(? AS NUMERIC(10, 2))))
+                AS s (id, created_at, updated_at, sku, name, price)
+            ON lower(p.sku) = lower(s.sku)
+            WHEN MATCHED THEN UPDATE SET name = s.name, price = s.price, updated_at = s.updated_at
+            WHEN NOT MATCHED THEN INSERT (id, created_at, updated_at, sku, name, price)
+                VALUES (s.id, s.created_at, s.updated_at, s.sku, s.name, s.price)""";
+
+    static final char LIKE_ESCAPE = '\\';
+    private static final String TERM = "term";
+    private static final String PATTERN = "pattern";
+    private static final String PREFIX = "prefix";
+
+    private final EntityManager entityManager;
+
+    @Override
+    public void upsertBySku(List<Product> products) {
+        if (products.isEmpty()) {
+            return;
+        }
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        BeforeExecutionGenerator generator = (BeforeExecutionGenerator) session.getFactory().getMappingMetamodel()
+                .getEntityDescriptor(Product.class).getGenerator();
+        for (Product product : products) {
+            if (product.getId() == null) {
+                product.setId((Long) generator.generate(session, product, null, EventType.INSERT));
+            }
+        }
+
+        String sql = Dialects.isPostgreSQL(entityManager) ? UPSERT_POSTGRESQL : UPSERT_MERGE;
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        session.doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                for (Product product : products) {
+                    statement.setLong(1, product.getId());
+                    statement.setTimestamp(2, now);
+                    statement.setTimestamp(3, now);
+                    statement.setString(4, product.getSku());
+                    statement.setString(5, product.getName());
+                    statement.setBigDecimal(6, product.getPrice());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        });
+
+        var cache = entityManager.getEntityManagerFactory().getCache();
+        products.forEach(product -> cache.evict(Product.class, product.getId()));
+    }
+
+    @Override
+    public Page<Product> search(String term, Pageable pageable) {
+        String normalized = term.trim().toLowerCase(Locale.ROOT);
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<Product> query = cb.createQuery(Product.class);
+        Root<Product> root = query.from(Product.class);
+        query.where(matches(cb, root));
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        } else {
+            query.orderBy(cb.desc(rank(cb, root)), cb.asc(root.get("name")), cb.asc(root.get("id")));
+        }
+        TypedQuery<Product> typed = bind(entityManager.createQuery(query), normalized);
+        if (pageable.isPaged()) {
+            typed.setFirstResult((int) pageable.getOffset()).setMaxResults(pageable.getPageSize());
+        }
+        List<Product> content = typed.getResultList();
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> {
+            CriteriaQuery<Long> count = cb.createQuery(Long.class);
+            Root<Product> countRoot = count.from(Product.class);
+            count.select(cb.count(countRoot)).where(matches(cb, countRoot));
+            return bind(entityManager.createQuery(count), normalized).getSingleResult();
+        });
+    }
+
+    private static Predicate matches(CriteriaBuilder cb, Root<Product> root) {
+        ParameterExpression<String> pattern = cb.parameter(String.class, PATTERN);
+        return cb.or(cb.like(cb.lower(root.get("name")), pattern, LIKE_ESCAPE),
+                cb.like(cb.lower(root.get("sku")), pattern, LIKE_ESCAPE));
+    }
+
+    /**
+     * The search text is always bound, never rendered into the SQL, so every keystroke reuses the same statement.
+     */
+    private static <T> TypedQuery<T> bind(TypedQuery<T> query, String term) {
+        for (Parameter<?> parameter : query.getParameters()) {
+            if (parameter.getName() == null) {
+                continue; // a constant of the query, bound with its value
+            }
+            String value = switch (parameter.getName()) {
+                case TERM -> term;
+                case PATTERN -> "%" + escapeLike(term) + "%";
+                case PREFIX -> escapeLike(term) + "%";
+                default -> throw new IllegalStateException("Unexpected parameter " + parameter.getName());
+            };
+            query.setParameter(parameter.getName(), value);
+        }
+        return query;
+    }
+
+    /**
+     * The better of the name and SKU similarities on PostgreSQL; elsewhere 3 for an exact match, 2 for a prefix and
+     * 1 for any other occurrence.
+     */
+    private Expression<? extends Number> rank(CriteriaBuilder cb, Root<Product> root) {
+        Expression<String> name = cb.lower(root.get("name"));
+        Expression<String> sku = cb.lower(root.get("sku"));
+        ParameterExpression<String> term = cb.parameter(String.class, TERM);
+        if (Dialects.isPostgreSQL(entityManager)) {
+            return cb.function("greatest", Double.class,
+                    cb.function("similarity", Double.class, name, term),
+                    cb.function("similarity", Double.class, sku, term));
+        }
+        ParameterExpression<String> prefix = cb.parameter(String.class, PREFIX);
+        return cb.<Integer>selectCase()
+                .when(cb.or(cb.equal(name, term), cb.equal(sku, term)), 3)
+                .when(cb.or(cb.like(name, prefix, LIKE_ESCAPE), cb.like(sku, prefix, LIKE_ESCAPE)), 2)
+                .otherwise(1);
+    }
+
+    static String escapeLike(String term) {
+        StringBuilder escaped = new StringBuilder(term.length());
+        for (char c : term.toCharArray()) {
+            if (c == LIKE_ESCAPE || c == '%' || c == '_') {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
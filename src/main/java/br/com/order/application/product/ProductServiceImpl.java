@@ -2,8 +2,12 @@ package br.com.order.application.product;
 
 import br.com.order.exceptions.NotFoundException;
 import br.com.order.exceptions.UniqueConstraintViolationException;
+import br.com.order.configs.MetricsConfig;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -11,22 +15,29 @@ import org.springframework.transaction.annotation.Transactional;
 
 @Slf4j
 @Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
 @RequiredArgsConstructor
 public class ProductServiceImpl implements IProductService {
 
     private final ProductRepository repository;
     private final ProductMapper mapper;
+    private final ProductCache productCache;
+
+    public static final String SKU_ALREADY_EXISTS = "SKU '%s' already exists";
+    /**
+     * Prefix of both the {@code sku} unique constraint and the case-insensitive {@code lower(sku)} unique index.
+     */
+    static final String SKU_CONSTRAINT = "uc_products_sku";
 
     @Transactional
     @Override
     public void create(CreateProductDTO dto) {
         log.info("Creating product: {}", dto);
-
-        if (repository.existsBySku(dto.getSku())) {
-            throw new UniqueConstraintViolationException("SKU '" + dto.getSku() + "' already exists");
+        try {
+            repository.saveAndFlush(mapper.create(dto));
+        } catch (DataIntegrityViolationException e) {
+            throw skuConflict(dto.getSku(), e);
         }
-
-        repository.save(mapper.create(dto));
     }
 
     @Transactional
@@ -35,20 +46,32 @@ public class ProductServiceImpl implements IProductService {
         log.info("Updating product: {}", dto);
         Product product = repository.findById(id).orElseThrow(() -> new NotFoundException("Product not found"));
 
-        if (!product.getSku().equalsIgnoreCase(dto.getSku()) && repository.existsBySku(dto.getSku())) {
-            throw new UniqueConstraintViolationException("SKU '" + dto.getSku() + "' already exists");
+        productCache.evict(product);
+        mapper.update(product, dto);
+        try {
+            repository.saveAndFlush(product);
+        } catch (DataIntegrityViolationException e) {
+            throw skuConflict(dto.getSku(), e);
         }
+    }
 
-        mapper.update(product, dto);
-        repository.save(product);
+    /**
+     * The insert or update itself checks the SKU through the unique constraints, in the same statement and without
+     * a race with concurrent writers; a violation of any other constraint is rethrown as is.
+     */
+    private static RuntimeException skuConflict(String sku, DataIntegrityViolationException e) {
+        if (e.getCause() instanceof ConstraintViolationException violation && violation.getConstraintName() != null
+                && violation.getConstraintName().toLowerCase().contains(SKU_CONSTRAINT)) {
+            return new UniqueConstraintViolationException(String.format(SKU_ALREADY_EXISTS, sku), e);
+        }
+        return e;
     }
 
     @Transactional(readOnly = true)
     @Override
     public ProductDTO findById(Long id) {
         log.info("Finding product: {}", id);
-        return repository.findById(id)
-                .map(mapper::productToProductDTO)
+        return productCache.findById(id)
                 .orElseThrow(() -> new NotFoundException("Product not found"));
     }
 
@@ -58,6 +81,7 @@ public class ProductServiceImpl implements IProductService {
         log.info("Deleting product: {}", id);
         Product product = repository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Product not found"));
+        productCache.evict(product);
         repository.delete(product);
     }
 
@@ -65,7 +89,9 @@ public class ProductServiceImpl implements IProductService {
     @Override
     public Page<ProductDTO> findBySearch(String search, Pageable pageable) {
         log.info("Finding products by search: {}", search);
-        return repository.findByNameContainsIgnoreCaseOrSkuContainsIgnoreCase(search, search, pageable)
-                .map(mapper::productToProductDTO);
+        Page<Product> products = search == null || search.isBlank()
+                ? repository.findAll(pageable)
+                : repository.search(search, pageable);
+        return products.map(mapper::productToProductDTO);
     }
 }
@@ -1,5 +1,9 @@
 package br.com.order.configs;
 
+import org.hibernate.cfg.MappingSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
@@ -9,4 +13,18 @@ import org.springframework.transaction.annotation.EnableTransactionManagement;
 @EnableTransactionManagement
 @EnableJpaRepositories(basePackages = "br.com.order", enableDefaultTransactions = false)
 public class DatabaseConfig {
+
+    /**
+     * Ids come from one sequence per table. The allocation size follows the {@code INCREMENT BY} of the
+     * database sequence, so the block size is tuned with a migration and the optimizer with
+     * {@code order.id.optimizer} ({@code pooled-lo} or {@code pooled}).
+     */
+    @Bean
+    public HibernatePropertiesCustomizer idGenerationCustomizer(@Value("${order.id.optimizer:pooled-lo}") String optimizer) {
+        return properties -> {
+            properties.put(MappingSettings.ID_DB_STRUCTURE_NAMING_STRATEGY, TableSequenceNamingStrategy.class.getName());
+            properties.put(MappingSettings.PREFERRED_POOLED_OPTIMIZER, optimizer);
+            properties.put(MappingSettings.SEQUENCE_INCREMENT_SIZE_MISMATCH_STRATEGY, "fix");
+        };
+    }
 }
@@ -0,0 +1,26 @@
+package br.com.order.configs;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Timer of every public method of the {@code @Timed} services, tagged with {@code class} and {@code method}.
+     */
+    public static final String SERVICE_TIMER = "order.service";
+
+    /**
+     * Counter of the exceptions turned into responses by the exception handler, tagged with
+     * {@code exception} and {@code status}.
+     */
+    public static final String HANDLED_EXCEPTIONS = "order.exceptions.handled";
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+}
@@ -0,0 +1,109 @@
+package br.com.order.configs;
+
+import br.com.order.application.base.ErrorDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * With virtual threads Tomcat no longer caps concurrency at its worker pool, so thousands of requests can be
+ * in flight at once while nearly all of them wait on a database connection. This filter bounds the requests
+ * being handled to the size of the Hikari pool (or {@code order.concurrency.max-in-flight}); the rest wait
+ * on a fair semaphore and get a 503 if no slot frees up within {@code order.concurrency.acquire-timeout},
+ * instead of piling up on Hikari's connection timeout.
+ * <p>
+ * Paths matching {@code order.concurrency.excluded-paths} bypass the limit: by default only the actuator, so health
+ * checks and metric scrapes are still answered under load. The streaming {@code /orders/export} and
+ * {@code /products/import} are counted like any other request: they hold a pooled connection for the whole transfer,
+ * so letting them bypass a limit sized to the pool would let them exhaust it.
+ */
+@Slf4j
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class RequestConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final int DEFAULT_LIMIT = 10;
+    private static final String TOO_BUSY = "The service is overloaded. Try again later.";
+
+    private final Semaphore permits;
+    private final Duration acquireTimeout;
+    private final ObjectMapper objectMapper;
+    private final List<String> excludedPaths;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public RequestConcurrencyLimitFilter(DataSource dataSource,
+                                         ObjectMapper objectMapper,
+                                         @Value("${order.concurrency.max-in-flight:0}") int maxInFlight,
+                                         @Value("${order.concurrency.acquire-timeout:5s}") Duration acquireTimeout,
+                                         @Value("${order.concurrency.excluded-paths:/actuator/**}")
+                                         List<String> excludedPaths) throws SQLException {
+        int limit = maxInFlight > 0 ? maxInFlight : poolSize(dataSource);
+        this.permits = new Semaphore(limit, true);
+        this.acquireTimeout = acquireTimeout;
+        this.objectMapper = objectMapper;
+        this.excludedPaths = List.copyOf(excludedPaths);
+        log.info("Limiting in-flight requests to {}, except {}", limit, this.excludedPaths);
+    }
+
+    private static int poolSize(DataSource dataSource) throws SQLException {
+        if (dataSource.isWrapperFor(HikariDataSource.class)) {
+            return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+        }
+        log.warn("DataSource is not a Hikari pool, falling back to {} in-flight requests", DEFAULT_LIMIT);
+        return DEFAULT_LIMIT;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return excludedPaths.stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            log.warn("Rejecting {} {}: no request slot within {}", request.getMethod(), request.getRequestURI(), acquireTimeout);
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, acquireTimeout.toSeconds())));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), new ErrorDTO(request.getRequestURI(), List.of(TOO_BUSY)));
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package br.com.order.configs;
+
+import org.hibernate.boot.model.naming.Identifier;
+import org.hibernate.boot.model.relational.QualifiedName;
+import org.hibernate.boot.model.relational.QualifiedSequenceName;
+import org.hibernate.engine.jdbc.env.spi.JdbcEnvironment;
+import org.hibernate.id.PersistentIdentifierGenerator;
+import org.hibernate.id.enhanced.StandardNamingStrategy;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.service.ServiceRegistry;
+
+import java.util.Map;
+
+/**
+ * Names implicit id sequences after the table they feed ({@code orders} -> {@code orders_seq}),
+ * matching the sequences created by the Flyway migrations.
+ */
+public class TableSequenceNamingStrategy extends StandardNamingStrategy {
+
+    @Override
+    public QualifiedName determineSequenceName(Identifier catalogName, Identifier schemaName,
+                                               Map<?, ?> configValues, ServiceRegistry serviceRegistry) {
+        String table = ConfigurationHelper.getString(PersistentIdentifierGenerator.TABLE, configValues);
+        if (table == null) {
+            return super.determineSequenceName(catalogName, schemaName, configValues, serviceRegistry);
+        }
+        var identifierHelper = serviceRegistry.requireService(JdbcEnvironment.class).getIdentifierHelper();
+        return new QualifiedSequenceName(catalogName, schemaName, identifierHelper.toIdentifier(table + "_seq"));
+    }
+}
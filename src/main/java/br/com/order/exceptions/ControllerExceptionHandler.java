@@ -1,11 +1,14 @@
 package br.com.order.exceptions;
 
 import br.com.order.application.base.ErrorDTO;
+import br.com.order.configs.MetricsConfig;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.swagger.v3.oas.annotations.Operation;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -29,6 +32,8 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ControllerExceptionHandler extends ResponseEntityExceptionHandler {
 
+    private final MeterRegistry meterRegistry;
+
     @Operation(hidden = true)
     @Override
     protected ResponseEntity<Object> handleMethodArgumentNotValid(MethodArgumentNotValidException ex,
@@ -36,21 +41,39 @@ public class ControllerExceptionHandler extends ResponseEntityExceptionHandler {
                                                                   @NonNull HttpStatusCode status,
                                                                   @NonNull WebRequest request) {
 
+        count(ex, HttpStatus.BAD_REQUEST);
         var error = getFieldErrors(ex.getBindingResult(), ((ServletWebRequest) request).getRequest().getRequestURI());
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
 
+    /**
+     * Counts the errors {@link ResponseEntityExceptionHandler} answers by itself (unreadable bodies, missing
+     * parameters, {@code @Min}/{@code @Max} violations on parameters...), which do not reach the handlers below.
+     */
+    @Operation(hidden = true)
+    @Override
+    protected ResponseEntity<Object> handleExceptionInternal(@NonNull Exception ex,
+                                                             Object body,
+                                                             @NonNull HttpHeaders headers,
+                                                             @NonNull HttpStatusCode statusCode,
+                                                             @NonNull WebRequest request) {
+        count(ex, statusCode);
+        return super.handleExceptionInternal(ex, body, headers, statusCode, request);
+    }
+
     @Operation(hidden = true)
     @ResponseStatus(HttpStatus.NOT_FOUND)
     @ResponseBody
     @ExceptionHandler(NotFoundException.class)
     public ErrorDTO handleNotFoundException(HttpServletRequest req, NotFoundException ex) {
+        count(ex, HttpStatus.NOT_FOUND);
         return getFieldError(ex, req.getRequestURI());
     }
 
     @ResponseStatus(HttpStatus.CONFLICT)
     @ExceptionHandler(UniqueConstraintViolationException.class)
     public ErrorDTO handleUniqueConstraintViolationException(HttpServletRequest req, UniqueConstraintViolationException ex) {
+        count(ex, HttpStatus.CONFLICT);
         return getFieldError(ex, req.getRequestURI());
     }
 
@@ -59,9 +82,38 @@ public class ControllerExceptionHandler extends ResponseEntityExceptionHandler {
     @ResponseBody
     @ExceptionHandler(BadRequestException.class)
     public ErrorDTO handleBadRequest(HttpServletRequest req, BadRequestException ex) {
+        count(ex, HttpStatus.BAD_REQUEST);
+        return getFieldError(ex, req.getRequestURI());
+    }
+
+    @Operation(hidden = true)
+    @ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+    @ResponseBody
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ErrorDTO handlePreconditionFailed(HttpServletRequest req, PreconditionFailedException ex) {
+        count(ex, HttpStatus.PRECONDITION_FAILED);
         return getFieldError(ex, req.getRequestURI());
     }
 
+    /**
+     * Counts by the concrete exception class, so e.g. lock timeouts and deadlocks show up apart
+     * within the pessimistic locking failures.
+     */
+    private void count(Exception ex, HttpStatusCode status) {
+        meterRegistry.counter(MetricsConfig.HANDLED_EXCEPTIONS,
+                "exception", ex.getClass().getSimpleName(),
+                "status", String.valueOf(status.value())).increment();
+    }
+
+    @Operation(hidden = true)
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ErrorDTO> handleServiceUnavailable(HttpServletRequest req, ServiceUnavailableException ex) {
+        count(ex, HttpStatus.SERVICE_UNAVAILABLE);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getRetryAfter().toSeconds())))
+                .body(getFieldError(ex, req.getRequestURI()));
+    }
+
     private ErrorDTO getFieldErrors(BindingResult bindingResult, String requestURI) {
         var messages = bindingResult.getFieldErrors()
                 .stream()
@@ -81,6 +133,16 @@ public class ControllerExceptionHandler extends ResponseEntityExceptionHandler {
     @ExceptionHandler(PessimisticLockingFailureException.class)
     @ResponseStatus(HttpStatus.CONFLICT)
     public ErrorDTO handlePessimisticLockException(HttpServletRequest req, PessimisticLockingFailureException ex) {
+        count(ex, HttpStatus.CONFLICT);
         return new ErrorDTO(req.getRequestURI(), List.of("O registro está sendo atualizado por outro processo. Tente novamente mais tarde."));
     }
+
+    @Operation(hidden = true)
+    @ResponseBody
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorDTO handleOptimisticLockException(HttpServletRequest req, OptimisticLockingFailureException ex) {
+        count(ex, HttpStatus.CONFLICT);
+        return new ErrorDTO(req.getRequestURI(), List.of("The record was changed by another process. Try again."));
+    }
 }
@@ -0,0 +1,10 @@
+-- GET /products?search= filters with lower(name) LIKE '%term%' OR lower(sku) LIKE '%term%': a leading wildcard cannot
+-- use a b-tree, so every keystroke scanned products. Trigram GIN indexes answer both sides of the OR (as a BitmapOr)
+-- for terms of 3 or more characters, and pg_trgm's similarity() ranks the results.
+-- Built CONCURRENTLY to avoid blocking writes on large tables (see the .conf file next to this script).
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_products_name_trgm ON products USING gin (lower(name) gin_trgm_ops);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_products_sku_trgm ON products USING gin (lower(sku) gin_trgm_ops);
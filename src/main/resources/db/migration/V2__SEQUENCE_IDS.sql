@@ -0,0 +1,18 @@
+-- Ids are allocated from per-table sequences in blocks (pooled-lo), which lets Hibernate batch inserts.
+-- The INCREMENT BY value is the allocation size used by the application.
+
+CREATE SEQUENCE customers_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE products_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE orders_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE order_items_seq START WITH 1 INCREMENT BY 50;
+
+-- Skip a whole block past the current ids so neither the pooled nor the pooled-lo optimizer can reuse them.
+SELECT setval('customers_seq', COALESCE(MAX(id), 0) + 50, false) FROM customers;
+SELECT setval('products_seq', COALESCE(MAX(id), 0) + 50, false) FROM products;
+SELECT setval('orders_seq', COALESCE(MAX(id), 0) + 50, false) FROM orders;
+SELECT setval('order_items_seq', COALESCE(MAX(id), 0) + 50, false) FROM order_items;
+
+ALTER TABLE customers ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE products ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE orders ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE order_items ALTER COLUMN id DROP IDENTITY IF EXISTS;
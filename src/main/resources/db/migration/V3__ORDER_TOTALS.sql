@@ -0,0 +1,8 @@
+-- Totals are maintained on write so that order listings never read order_items.
+-- Existing rows are filled by the one-off backfill job (order.totals.backfill.enabled=true).
+
+ALTER TABLE orders
+    ADD COLUMN subtotal DECIMAL(14, 2) NOT NULL DEFAULT 0;
+
+ALTER TABLE orders
+    ADD COLUMN total DECIMAL(14, 2) NOT NULL DEFAULT 0;
@@ -0,0 +1,12 @@
+-- Access paths of GET /orders and GET /orders/scroll: every filter is followed by the (created_at, id) ordering.
+-- Built CONCURRENTLY to avoid blocking writes on large tables (see the .conf file next to this script).
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_created_at ON orders (created_at, id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_status_created_at ON orders (status, created_at, id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_customer_id_created_at ON orders (customer_id, created_at, id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_order_items_product_id_order_id ON order_items (product_id, order_id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_order_items_order_id ON order_items (order_id);
@@ -0,0 +1,4 @@
+-- Version column for optimistic concurrency control (order.locking.mode=optimistic) and order ETags.
+
+ALTER TABLE orders
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
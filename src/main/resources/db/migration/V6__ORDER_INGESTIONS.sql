@@ -0,0 +1,20 @@
+-- Durable queue of the orders accepted by POST /orders?async=true, drained by the ingestion workers.
+
+CREATE SEQUENCE order_ingestions_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE order_ingestions
+(
+    id              BIGINT                      NOT NULL,
+    created_at      TIMESTAMP WITHOUT TIME ZONE,
+    updated_at      TIMESTAMP WITHOUT TIME ZONE,
+    payload         JSONB                       NOT NULL,
+    status          VARCHAR(20)                 NOT NULL,
+    attempts        INTEGER                     NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    order_id        BIGINT,
+    error           VARCHAR(1000),
+    CONSTRAINT pk_order_ingestions PRIMARY KEY (id)
+);
+
+-- Workers claim the oldest pending rows; processed rows drop out of this index.
+CREATE INDEX idx_order_ingestions_pending ON order_ingestions (id) WHERE status = 'PENDING';
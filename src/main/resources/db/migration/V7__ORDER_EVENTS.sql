@@ -0,0 +1,29 @@
+-- Transactional outbox of order changes, read by GET /orders/changes. Events get their position (the feed offset)
+-- after commit, from the single-row order_event_sequence, so positions follow commit order.
+
+CREATE SEQUENCE order_events_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE order_events
+(
+    id         BIGINT      NOT NULL,
+    created_at TIMESTAMP WITHOUT TIME ZONE,
+    updated_at TIMESTAMP WITHOUT TIME ZONE,
+    position   BIGINT,
+    order_id   BIGINT      NOT NULL,
+    type       VARCHAR(20) NOT NULL,
+    status     VARCHAR(20),
+    CONSTRAINT pk_order_events PRIMARY KEY (id),
+    CONSTRAINT uc_order_events_position UNIQUE (position)
+);
+
+-- Events still waiting for a position, in the order they are sequenced.
+CREATE INDEX idx_order_events_unsequenced ON order_events (created_at, id) WHERE position IS NULL;
+
+CREATE TABLE order_event_sequence
+(
+    id            BIGINT NOT NULL,
+    last_position BIGINT NOT NULL,
+    CONSTRAINT pk_order_event_sequence PRIMARY KEY (id)
+);
+
+INSERT INTO order_event_sequence (id, last_position) VALUES (1, 0);
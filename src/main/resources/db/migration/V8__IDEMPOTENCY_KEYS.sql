@@ -0,0 +1,21 @@
+-- Responses of the requests sent with an Idempotency-Key, replayed to their retries until expires_at.
+
+CREATE SEQUENCE idempotency_keys_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE idempotency_keys
+(
+    id                BIGINT                      NOT NULL,
+    created_at        TIMESTAMP WITHOUT TIME ZONE,
+    updated_at        TIMESTAMP WITHOUT TIME ZONE,
+    scope             VARCHAR(100)                NOT NULL,
+    idempotency_key   VARCHAR(255)                NOT NULL,
+    request_hash      VARCHAR(64)                 NOT NULL,
+    response_status   INTEGER                     NOT NULL,
+    response_location VARCHAR(2048),
+    response_body     TEXT,
+    expires_at        TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    CONSTRAINT pk_idempotency_keys PRIMARY KEY (id),
+    CONSTRAINT uc_idempotency_keys_scope_key UNIQUE (scope, idempotency_key)
+);
+
+CREATE INDEX idx_idempotency_keys_expires_at ON idempotency_keys (expires_at);
@@ -0,0 +1,5 @@
+-- SKUs are unique regardless of case: 'abc-1' and 'ABC-1' are the same product. uc_products_sku stays for the exact
+-- match; this index rejects the case variants. It fails to build if such variants already exist, which then have to
+-- be merged by hand before migrating.
+
+CREATE UNIQUE INDEX uc_products_sku_lower ON products (lower(sku));
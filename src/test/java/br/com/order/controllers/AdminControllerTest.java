@@ -0,0 +1,99 @@
+package br.com.order.controllers;
+
+import br.com.order.application.admin.CacheStatsDTO;
+import br.com.order.application.order.OrderLockMonitor;
+import br.com.order.application.product.Product;
+import br.com.order.application.product.ProductCache;
+import br.com.order.application.product.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+class AdminControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductCache productCache;
+
+    @Autowired
+    private OrderLockMonitor lockMonitor;
+
+    @MockitoBean
+    private ProductRepository productRepository;
+
+    @BeforeEach
+    void setUp() {
+        reset(productRepository);
+        productCache.invalidateAll();
+    }
+
+    @Test
+    @DisplayName("Should report the product cache size and hit/miss counters")
+    void caches_ShouldReturnProductCacheStats() throws Exception {
+        Product product = new Product("SKU-1234", "Product 1", BigDecimal.TEN);
+        product.setId(1L);
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        CacheStatsDTO before = productCache.stats().get(0);
+
+        productCache.findById(1L);
+        productCache.findById(1L);
+
+        mockMvc.perform(get("/admin/caches"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.name == 'products.id')].size").value(1))
+                .andExpect(jsonPath("$[?(@.name == 'products.id')].hitCount").value((int) before.getHitCount() + 1))
+                .andExpect(jsonPath("$[?(@.name == 'products.id')].missCount").value((int) before.getMissCount() + 1));
+    }
+
+    @Test
+    @DisplayName("Should report lock contention per operation and the most contended orders until reset")
+    void locks_ShouldReturnContentionStats() throws Exception {
+        lockMonitor.resetHotOrders();
+        for (int i = 0; i < 3; i++) {
+            lockMonitor.acquire("admin-test", 42L, this::waitAboveThreshold);
+        }
+        lockMonitor.acquire("admin-test", 7L, this::waitAboveThreshold);
+
+        mockMvc.perform(get("/admin/locks").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.operations[?(@.operation == 'admin-test')].acquired").value(4))
+                .andExpect(jsonPath("$.operations[?(@.operation == 'admin-test')].contended").value(4))
+                .andExpect(jsonPath("$.hotOrders.length()").value(1))
+                .andExpect(jsonPath("$.hotOrders[0].orderId").value(42))
+                .andExpect(jsonPath("$.hotOrders[0].contended").value(3));
+
+        mockMvc.perform(delete("/admin/locks/hot-orders"))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/admin/locks"))
+                .andExpect(jsonPath("$.hotOrders.length()").value(0));
+    }
+
+    private Object waitAboveThreshold() {
+        try {
+            Thread.sleep(60);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+}
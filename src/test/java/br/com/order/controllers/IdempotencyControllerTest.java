@@ -0,0 +1,224 @@
+package br.com.order.controllers;
+
+import br.com.order.application.customer.Customer;
+import br.com.order.application.customer.CustomerRepository;
+import br.com.order.application.idempotency.IdempotencyCache;
+import br.com.order.application.idempotency.IdempotencyKey;
+import br.com.order.application.idempotency.IdempotencyKeyRepository;
+import br.com.order.application.order.CreateOrderDTO;
+import br.com.order.application.order.IOrderService;
+import br.com.order.application.order.OrderItemDTO;
+import br.com.order.application.product.Product;
+import br.com.order.application.product.ProductRepository;
+import br.com.order.services.TransactionalExecutor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+class IdempotencyControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private IOrderService orderService;
+
+    @Autowired
+    private IdempotencyCache idempotencyCache;
+
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TransactionalExecutor transactionalExecutor;
+
+    private Long[] createCustomerAndProduct(String sku) throws Exception {
+        return transactionalExecutor.execute(() -> new Long[]{
+                customerRepository.save(new Customer("Customer idempotency", "47999999999")).getId(),
+                productRepository.save(new Product(sku, "Product idempotency", BigDecimal.TEN)).getId()});
+    }
+
+    private ResultActions postOrder(CreateOrderDTO dto, String key) throws Exception {
+        return mockMvc.perform(post("/orders")
+                .header("Idempotency-Key", key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(dto)));
+    }
+
+    private long countOrders(Long customerId) {
+        return orderService.listOrders(null, customerId, null, Pageable.unpaged()).getTotalElements();
+    }
+
+    @Test
+    @DisplayName("Given a retried order creation with the same Idempotency-Key, should replay the response and create one order")
+    void create_WhenKeyIsReplayed_ShouldCreateOrderOnce() throws Exception {
+        Long[] ids = createCustomerAndProduct("SKU-IDEMPOTENCY-1");
+        CreateOrderDTO dto = new CreateOrderDTO(List.of(new OrderItemDTO(ids[1], 1, BigDecimal.TEN)), ids[0], BigDecimal.ZERO);
+
+        MvcResult first = postOrder(dto, "create-1")
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist("Idempotent-Replayed"))
+                .andReturn();
+        String location = first.getResponse().getHeader("Location");
+        assertNotNull(location);
+
+        postOrder(dto, "create-1")
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Location", location))
+                .andExpect(header().string("Idempotent-Replayed", "true"));
+
+        idempotencyCache.invalidateAll();
+        postOrder(dto, "create-1")
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Location", location))
+                .andExpect(header().string("Idempotent-Replayed", "true"));
+
+        assertEquals(1, countOrders(ids[0]));
+        mockMvc.perform(get(location)).andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Given a key replayed from the table shortly before it expires, should not keep replaying it from the cache")
+    void create_WhenReplayedKeyExpires_ShouldNotBeReplayedFromCache() throws Exception {
+        Long[] ids = createCustomerAndProduct("SKU-IDEMPOTENCY-6");
+        CreateOrderDTO dto = new CreateOrderDTO(List.of(new OrderItemDTO(ids[1], 1, BigDecimal.TEN)), ids[0], BigDecimal.ZERO);
+
+        postOrder(dto, "create-6").andExpect(status().isCreated());
+        transactionalExecutor.execute(() -> {
+            IdempotencyKey row = idempotencyKeyRepository.findByScopeAndIdempotencyKey("POST /orders", "create-6").orElseThrow();
+            row.setExpiresAt(LocalDateTime.now().plusSeconds(2));
+            return idempotencyKeyRepository.save(row);
+        });
+        idempotencyCache.invalidateAll();
+        postOrder(dto, "create-6").andExpect(header().string("Idempotent-Replayed", "true"));
+
+        Thread.sleep(2500);
+        postOrder(dto, "create-6")
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist("Idempotent-Replayed"));
+        assertEquals(2, countOrders(ids[0]));
+    }
+
+    @Test
+    @DisplayName("Given an Idempotency-Key reused with a different order, should return 400 and not create it")
+    void create_WhenKeyIsReusedWithAnotherRequest_ShouldReturnBadRequest() throws Exception {
+        Long[] ids = createCustomerAndProduct("SKU-IDEMPOTENCY-2");
+        CreateOrderDTO dto = new CreateOrderDTO(List.of(new OrderItemDTO(ids[1], 1, BigDecimal.TEN)), ids[0], BigDecimal.ZERO);
+        CreateOrderDTO other = new CreateOrderDTO(List.of(new OrderItemDTO(ids[1], 5, BigDecimal.TEN)), ids[0], BigDecimal.ZERO);
+
+        postOrder(dto, "create-2").andExpect(status().isCreated());
+        postOrder(other, "create-2")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0]").value("Idempotency-Key already used with a different request"));
+
+        assertEquals(1, countOrders(ids[0]));
+    }
+
+    @Test
+    @DisplayName("Given concurrent requests with the same Idempotency-Key, should create one order and answer both alike")
+    void create_WhenKeyIsSentConcurrently_ShouldCreateOrderOnce() throws Exception {
+        Long[] ids = createCustomerAndProduct("SKU-IDEMPOTENCY-3");
+        CreateOrderDTO dto = new CreateOrderDTO(List.of(new OrderItemDTO(ids[1], 1, BigDecimal.TEN)), ids[0], BigDecimal.ZERO);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            List<Future<MvcResult>> results = executor.invokeAll(List.of(
+                    () -> postOrder(dto, "create-3").andReturn(),
+                    () -> postOrder(dto, "create-3").andReturn(),
+                    () -> postOrder(dto, "create-3").andReturn(),
+                    () -> postOrder(dto, "create-3").andReturn()));
+            String location = results.get(0).get().getResponse().getHeader("Location");
+            for (Future<MvcResult> result : results) {
+                assertEquals(201, result.get().getResponse().getStatus());
+                assertEquals(location, result.get().getResponse().getHeader("Location"));
+            }
+        }
+
+        assertEquals(1, countOrders(ids[0]));
+    }
+
+    @Test
+    @DisplayName("Given retried item additions with the same Idempotency-Key, should add the items once")
+    void addItems_WhenKeyIsReplayed_ShouldAddItemsOnce() throws Exception {
+        Long[] ids = createCustomerAndProduct("SKU-IDEMPOTENCY-4");
+        Long otherProduct = transactionalExecutor.execute(() ->
+                productRepository.save(new Product("SKU-IDEMPOTENCY-5", "Product idempotency", BigDecimal.ONE)).getId());
+        Long orderId = orderService.create(
+                new CreateOrderDTO(List.of(new OrderItemDTO(ids[1], 1, BigDecimal.TEN)), ids[0], BigDecimal.ZERO));
+        String items = objectMapper.writeValueAsString(List.of(new OrderItemDTO(otherProduct, 3, BigDecimal.ONE)));
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            mockMvc.perform(post("/orders/{id}/items", orderId)
+                            .header("Idempotency-Key", "items-1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(items))
+                    .andExpect(status().isOk());
+        }
+
+        mockMvc.perform(get("/orders/{id}", orderId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.total").value(13.0));
+    }
+
+    @Test
+    @DisplayName("Given concurrent item additions with the same Idempotency-Key, should add the items once and answer both alike")
+    void addItems_WhenKeyIsSentConcurrently_ShouldAddItemsOnce() throws Exception {
+        Long[] ids = createCustomerAndProduct("SKU-IDEMPOTENCY-7");
+        Long otherProduct = transactionalExecutor.execute(() ->
+                productRepository.save(new Product("SKU-IDEMPOTENCY-8", "Product idempotency", BigDecimal.ONE)).getId());
+        Long orderId = orderService.create(
+                new CreateOrderDTO(List.of(new OrderItemDTO(ids[1], 1, BigDecimal.TEN)), ids[0], BigDecimal.ZERO));
+        String items = objectMapper.writeValueAsString(List.of(new OrderItemDTO(otherProduct, 3, BigDecimal.ONE)));
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            List<Future<MvcResult>> results = executor.invokeAll(Collections.nCopies(4, () ->
+                    mockMvc.perform(post("/orders/{id}/items", orderId)
+                                    .header("Idempotency-Key", "items-2")
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(items))
+                            .andReturn()));
+            for (Future<MvcResult> result : results) {
+                assertEquals(200, result.get().getResponse().getStatus(), result.get().getResponse().getContentAsString());
+            }
+        }
+
+        mockMvc.perform(get("/orders/{id}", orderId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.total").value(13.0));
+    }
+}
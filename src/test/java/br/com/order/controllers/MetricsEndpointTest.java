@@ -0,0 +1,78 @@
+package br.com.order.controllers;
+
+import br.com.order.application.product.Product;
+import br.com.order.application.product.ProductCache;
+import br.com.order.application.product.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.matchesRegex;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        "management.endpoints.web.exposure.include=prometheus",
+        "management.metrics.distribution.percentiles-histogram.http.server.requests=true"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricsEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductCache productCache;
+
+    @MockitoBean
+    private ProductRepository productRepository;
+
+    @BeforeEach
+    void setUp() {
+        reset(productRepository);
+        productCache.invalidateAll();
+    }
+
+    @Test
+    @DisplayName("Should expose service, endpoint, exception and cache metrics in Prometheus format")
+    void prometheus_ShouldExposeApplicationMetrics() throws Exception {
+        Product product = new Product("SKU-1234", "Product 1", BigDecimal.TEN);
+        product.setId(1L);
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(productRepository.findById(2L)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/products/1")).andExpect(status().isOk());
+        mockMvc.perform(get("/products/2")).andExpect(status().isNotFound());
+        mockMvc.perform(get("/orders/scroll").param("size", "0")).andExpect(status().isBadRequest());
+        mockMvc.perform(post("/products").contentType(MediaType.APPLICATION_JSON).content("{"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(allOf(
+                        matchesRegex("(?s).*order_service_seconds_bucket\\{[^}]*class=\"[^\"]*ProductServiceImpl\"[^}]*method=\"findById\".*"),
+                        matchesRegex("(?s).*http_server_requests_seconds_bucket\\{[^}]*uri=\"/products/\\{id}\".*"),
+                        matchesRegex("(?s).*order_exceptions_handled_total\\{exception=\"NotFoundException\",status=\"404\"} 1\\.0.*"),
+                        matchesRegex("(?s).*order_exceptions_handled_total\\{exception=\"HandlerMethodValidationException\",status=\"400\"} 1\\.0.*"),
+                        matchesRegex("(?s).*order_exceptions_handled_total\\{exception=\"HttpMessageNotReadableException\",status=\"400\"} 1\\.0.*"),
+                        containsString("cache_gets_total{cache=\"products.id\""))));
+    }
+}
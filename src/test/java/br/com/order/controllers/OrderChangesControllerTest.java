@@ -0,0 +1,158 @@
+package br.com.order.controllers;
+
+import br.com.order.application.customer.Customer;
+import br.com.order.application.customer.CustomerRepository;
+import br.com.order.application.order.*;
+import br.com.order.application.outbox.IOrderChangeFeedService;
+import br.com.order.application.outbox.OrderChangesDTO;
+import br.com.order.application.outbox.OrderEventDTO;
+import br.com.order.application.outbox.OrderEventType;
+import br.com.order.application.outbox.OrderOutbox;
+import br.com.order.application.product.Product;
+import br.com.order.application.product.ProductRepository;
+import br.com.order.services.TransactionalExecutor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+class OrderChangesControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private IOrderService orderService;
+
+    @Autowired
+    private IOrderChangeFeedService changeFeedService;
+
+    @Autowired
+    private OrderOutbox outbox;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TransactionalExecutor transactionalExecutor;
+
+    /**
+     * Position after every event written so far, including the ones of other tests sharing the database.
+     */
+    private long currentPosition() {
+        OrderChangesDTO changes = changeFeedService.changes(0, 1000);
+        while (changes.isHasMore()) {
+            changes = changeFeedService.changes(changes.getNextSince(), 1000);
+        }
+        return changes.getNextSince();
+    }
+
+    private List<OrderEventDTO> eventsOf(Long orderId, long since) {
+        return changeFeedService.changes(since, 1000).getEvents().stream()
+                .filter(event -> event.getOrderId().equals(orderId))
+                .toList();
+    }
+
+    @Test
+    @DisplayName("Every order mutation should publish an event to the change feed, in order")
+    void changes_WhenOrderIsMutated_ShouldReturnEventsInOrder() throws Exception {
+        Long[] ids = transactionalExecutor.execute(() -> new Long[]{
+                customerRepository.save(new Customer("Customer feed", "47999999999")).getId(),
+                productRepository.save(new Product("SKU-FEED-1", "Product feed 1", BigDecimal.TEN)).getId(),
+                productRepository.save(new Product("SKU-FEED-2", "Product feed 2", BigDecimal.ONE)).getId()});
+        long since = currentPosition();
+
+        orderService.create(new CreateOrderDTO(List.of(new OrderItemDTO(ids[1], 1, BigDecimal.TEN)), ids[0], BigDecimal.ZERO));
+        Long orderId = changeFeedService.changes(since, 1000).getEvents().get(0).getOrderId();
+        orderService.addItems(orderId, List.of(new OrderItemDTO(ids[2], 1, BigDecimal.ONE)), null);
+        orderService.update(orderId, new UpdateOrderDTO(null, null, BigDecimal.ONE, null), null);
+        orderService.delete(orderId);
+
+        List<OrderEventDTO> events = eventsOf(orderId, since);
+        assertEquals(List.of(OrderEventType.CREATED, OrderEventType.ITEMS_CHANGED, OrderEventType.UPDATED, OrderEventType.DELETED),
+                events.stream().map(OrderEventDTO::getType).toList());
+        for (int i = 1; i < events.size(); i++) {
+            assertTrue(events.get(i).getPosition() > events.get(i - 1).getPosition());
+        }
+
+        mockMvc.perform(get("/orders/changes").param("since", String.valueOf(since)).param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.events.length()").value(2))
+                .andExpect(jsonPath("$.events[0].type").value("CREATED"))
+                .andExpect(jsonPath("$.events[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.nextSince").value(events.get(1).getPosition()))
+                .andExpect(jsonPath("$.hasMore").value(true));
+        mockMvc.perform(get("/orders/changes").param("since", String.valueOf(events.get(3).getPosition())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.events.length()").value(0))
+                .andExpect(jsonPath("$.nextSince").value(events.get(3).getPosition()))
+                .andExpect(jsonPath("$.hasMore").value(false));
+    }
+
+    @Test
+    @DisplayName("An event committed after a later one should still be delivered after the consumer's offset")
+    void changes_WhenTransactionsCommitOutOfOrder_ShouldNotSkipEvents() throws Exception {
+        Long customerId = transactionalExecutor.execute(() ->
+                customerRepository.save(new Customer("Customer feed order", "47999999999")).getId());
+        Long[] orderIds = transactionalExecutor.execute(() -> new Long[]{
+                orderRepository.save(order(customerId)).getId(),
+                orderRepository.save(order(customerId)).getId()});
+        long since = currentPosition();
+
+        var executor = Executors.newSingleThreadExecutor();
+        var written = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        Future<?> slow = executor.submit(() -> transactionalExecutor.execute(() -> {
+            outbox.record(orderRepository.getReferenceById(orderIds[0]), OrderEventType.STATUS_CHANGED);
+            orderRepository.flush();
+            written.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }));
+        written.await();
+        transactionalExecutor.execute(() -> {
+            outbox.record(orderRepository.getReferenceById(orderIds[1]), OrderEventType.STATUS_CHANGED);
+            return null;
+        });
+
+        OrderChangesDTO first = changeFeedService.changes(since, 1000);
+        assertEquals(List.of(orderIds[1]), first.getEvents().stream().map(OrderEventDTO::getOrderId).toList());
+
+        release.countDown();
+        slow.get(5, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        OrderChangesDTO second = changeFeedService.changes(first.getNextSince(), 1000);
+        assertEquals(List.of(orderIds[0]), second.getEvents().stream().map(OrderEventDTO::getOrderId).toList());
+    }
+
+    private Order order(Long customerId) {
+        Order order = new Order();
+        order.setCustomer(customerRepository.getReferenceById(customerId));
+        return order;
+    }
+}
@@ -1,9 +1,12 @@
 package br.com.order.controllers;
 
 import br.com.order.application.customer.Customer;
+import br.com.order.application.customer.CustomerReferenceCache;
 import br.com.order.application.customer.CustomerRepository;
 import br.com.order.application.order.*;
+import br.com.order.application.outbox.OrderOutbox;
 import br.com.order.application.product.Product;
+import br.com.order.application.product.ProductCache;
 import br.com.order.application.product.ProductRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -31,6 +34,7 @@ import java.util.Optional;
 
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -42,6 +46,12 @@ class OrderControllerTest {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private ProductCache productCache;
+
+    @Autowired
+    private CustomerReferenceCache customerCache;
+
     @MockitoBean
     private OrderRepository orderRepository;
 
@@ -51,12 +61,17 @@ class OrderControllerTest {
     @MockitoBean
     private ProductRepository productRepository;
 
+    @MockitoBean
+    private OrderOutbox outbox;
+
     @Autowired
     private ObjectMapper objectMapper;
 
     @BeforeEach
     void setUp() {
         reset(orderRepository, customerRepository, productRepository);
+        productCache.invalidateAll();
+        customerCache.invalidateAll();
     }
 
     @Test
@@ -69,7 +84,7 @@ class OrderControllerTest {
         product.setId(1L);
 
         when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
-        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(productRepository.findAllById(anyList())).thenReturn(List.of(product));
         when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         mockMvc.perform(post("/orders")
@@ -80,6 +95,32 @@ class OrderControllerTest {
         verify(orderRepository, times(1)).save(any(Order.class));
     }
 
+    @Test
+    @DisplayName("Given a batch of CreateOrderDTOs, should create the valid orders and return the per-order results")
+    void createAll_WhenBatchHasInvalidOrder_ShouldReturnPerOrderResults() throws Exception {
+        List<CreateOrderDTO> dtos = List.of(
+                new CreateOrderDTO(List.of(new OrderItemDTO(1L, 2, BigDecimal.TEN)), 1L, BigDecimal.ZERO),
+                new CreateOrderDTO(List.of(new OrderItemDTO(1L, 2, BigDecimal.TEN)), 2L, BigDecimal.ZERO));
+        Customer customer = new Customer("Customer 1", "João Silva");
+        customer.setId(1L);
+        Product product = new Product("SKU-1234", "Produto 1", BigDecimal.TEN);
+        product.setId(1L);
+
+        when(customerRepository.findAllById(anySet())).thenReturn(List.of(customer));
+        when(productRepository.findAllById(anyList())).thenReturn(List.of(product));
+        when(orderRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        mockMvc.perform(post("/orders/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dtos)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].success").value(true))
+                .andExpect(jsonPath("$[1].success").value(false))
+                .andExpect(jsonPath("$[1].errors[0]").value("Customer not found"));
+
+        verify(orderRepository, times(1)).saveAll(anyList());
+    }
+
     @Test
     @DisplayName("Given a CreateOrderDTO with non-existent customer, it should return 404")
     void create_WhenCustomerNotFound_ShouldReturnNotFound() throws Exception {
@@ -110,7 +151,7 @@ class OrderControllerTest {
 
         when(orderRepository.findById(id)).thenReturn(Optional.of(order));
         when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
-        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(productRepository.findAllById(anyList())).thenReturn(List.of(product));
         when(orderRepository.save(any(Order.class))).thenReturn(order);
 
         mockMvc.perform(patch("/orders/{id}", id)
@@ -121,6 +162,28 @@ class OrderControllerTest {
         verify(orderRepository, times(1)).save(order);
     }
 
+    @Test
+    @DisplayName("Given an If-Match header with a stale version, should return 412 and not update the order")
+    void update_WhenIfMatchIsStale_ShouldReturnPreconditionFailed() throws Exception {
+        Long id = 1L;
+        UpdateOrderDTO dto = new UpdateOrderDTO(null, null, BigDecimal.ONE, null);
+        Customer customer = new Customer("Customer 1", "João Silva");
+        customer.setId(1L);
+        Order order = new Order(new ArrayList<>(), customer, BigDecimal.ZERO, OrderStatus.CREATED);
+        order.setId(id);
+        order.setVersion(5L);
+
+        when(orderRepository.findById(id)).thenReturn(Optional.of(order));
+
+        mockMvc.perform(patch("/orders/{id}", id)
+                        .header("If-Match", "\"4\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
     @Test
     @DisplayName("Given an invalid ID, should return 404 when trying to update")
     void update_WhenInvalidId_ShouldReturnNotFound() throws Exception {
@@ -151,7 +214,7 @@ class OrderControllerTest {
         order.setId(id);
 
         when(orderRepository.findById(id)).thenReturn(Optional.of(order));
-        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(productRepository.findAllById(anyList())).thenReturn(List.of(product));
         when(orderRepository.save(any(Order.class))).thenReturn(order);
 
         mockMvc.perform(post("/orders/{id}/items", id)
@@ -319,6 +382,33 @@ class OrderControllerTest {
         verify(orderRepository, times(1)).findAll(any(Specification.class), any(PageRequest.class));
     }
 
+    @Test
+    @DisplayName("Given a page size, scrolling orders should return the slice and the next cursor with status 200")
+    void scrollOrders_WhenMoreOrders_ShouldReturnSliceWithCursor() throws Exception {
+        Customer customer = new Customer("Customer 1", "João Silva");
+        customer.setId(1L);
+        List<Order> orders = new ArrayList<>();
+        for (long id = 1; id <= 2; id++) {
+            Order order = new Order(new ArrayList<>(), customer, BigDecimal.ZERO, OrderStatus.CREATED);
+            order.setId(id);
+            order.setCreatedAt(LocalDateTime.now());
+            orders.add(order);
+        }
+
+        when(orderRepository.findBy(any(Specification.class), any())).thenReturn(orders);
+
+        mockMvc.perform(get("/orders/scroll")
+                        .param("status", "CREATED")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1L))
+                .andExpect(jsonPath("$.size").value(1))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.nextCursor").exists());
+
+        verify(orderRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+    }
+
     @Test
     @DisplayName("Given a valid ID, the order should return with status 200")
     void getOrderById_WhenValidId_ShouldReturnOrder() throws Exception {
@@ -333,10 +423,13 @@ class OrderControllerTest {
         order.setCreatedAt(LocalDateTime.now());
         order.setUpdatedAt(LocalDateTime.now());
 
-        when(orderRepository.findById(id)).thenReturn(Optional.of(order));
+        order.setVersion(2L);
+
+        when(orderRepository.findWithItemsById(id)).thenReturn(Optional.of(order));
 
         mockMvc.perform(get("/orders/{id}", id))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"2\""))
                 .andExpect(jsonPath("$.id").value(id))
                 .andExpect(jsonPath("$.customerId").value(1L))
                 .andExpect(jsonPath("$.items[0].productId").value(1L))
@@ -348,7 +441,7 @@ class OrderControllerTest {
                 .andExpect(jsonPath("$.createdAt").exists())
                 .andExpect(jsonPath("$.updatedAt").exists());
 
-        verify(orderRepository, times(1)).findById(id);
+        verify(orderRepository, times(1)).findWithItemsById(id);
     }
 
     @Test
@@ -356,28 +449,30 @@ class OrderControllerTest {
     void getOrderById_WhenInvalidId_ShouldReturnNotFound() throws Exception {
         Long id = 1L;
 
-        when(orderRepository.findById(id)).thenReturn(Optional.empty());
+        when(orderRepository.findWithItemsById(id)).thenReturn(Optional.empty());
 
         mockMvc.perform(get("/orders/{id}", id))
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$.errors[0]").value("Order not found"));
 
-        verify(orderRepository, times(1)).findById(id);
+        verify(orderRepository, times(1)).findWithItemsById(id);
     }
 
     @Test
-    @DisplayName("Should return 409 Conflict when order is locked")
-    void getOrderById_WhenOrderIsLocked_ShouldReturnConflict() throws Exception {
-
+    @DisplayName("Fetching an order should not take the write lock")
+    void getOrderById_WhenOrderIsLocked_ShouldNotUseLockingFind() throws Exception {
         Long id = 1L;
+        Order order = new Order(new ArrayList<>(), new Customer("Customer 1", "João Silva"), BigDecimal.ZERO, OrderStatus.CREATED);
+        order.setId(id);
 
         when(orderRepository.findById(id)).thenThrow(new PessimisticLockingFailureException("Order is locked"));
+        when(orderRepository.findWithItemsById(id)).thenReturn(Optional.of(order));
 
         mockMvc.perform(get("/orders/{id}", id))
-                .andExpect(status().isConflict())
-                .andExpect(jsonPath("$.errors[0]").value("O registro está sendo atualizado por outro processo. Tente novamente mais tarde."));
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(id));
 
-        verify(orderRepository, times(1)).findById(id);
+        verify(orderRepository, never()).findById(id);
     }
 
 
@@ -0,0 +1,120 @@
+package br.com.order.controllers;
+
+import br.com.order.application.customer.Customer;
+import br.com.order.application.customer.CustomerRepository;
+import br.com.order.application.order.CreateOrderDTO;
+import br.com.order.application.order.IOrderService;
+import br.com.order.application.order.OrderItemDTO;
+import br.com.order.application.order.OrderStatus;
+import br.com.order.application.order.UpdateOrderDTO;
+import br.com.order.application.product.Product;
+import br.com.order.application.product.ProductRepository;
+import br.com.order.services.TransactionalExecutor;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class OrderExportControllerTest {
+
+    private static final int ORDERS = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private IOrderService orderService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TransactionalExecutor transactionalExecutor;
+
+    private Long customerId;
+    private final List<Long> orderIds = new ArrayList<>();
+
+    @BeforeAll
+    void createOrders() throws Exception {
+        Long[] ids = transactionalExecutor.execute(() -> new Long[]{
+                customerRepository.save(new Customer("Customer export", "47999999999")).getId(),
+                productRepository.save(new Product("SKU-EXPORT-1", "Product export", BigDecimal.TEN)).getId()});
+        customerId = ids[0];
+        for (int i = 0; i < ORDERS; i++) {
+            orderIds.add(orderService.create(new CreateOrderDTO(
+                    List.of(new OrderItemDTO(ids[1], i + 1, BigDecimal.TEN)), customerId, BigDecimal.ZERO)));
+        }
+        UpdateOrderDTO update = new UpdateOrderDTO();
+        update.setStatus(OrderStatus.PROCESSING);
+        orderService.update(orderIds.get(0), update, null);
+    }
+
+    @Test
+    @DisplayName("Given the NDJSON format, should stream one JSON order per line in creation order")
+    void exportOrders_WhenNdjson_ShouldWriteOneOrderPerLine() throws Exception {
+        String body = mockMvc.perform(get("/orders/export").param("customerId", customerId.toString()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andExpect(header().string("Content-Disposition", containsString("orders.ndjson")))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(ORDERS, lines.length);
+        for (int i = 0; i < ORDERS; i++) {
+            JsonNode order = objectMapper.readTree(lines[i]);
+            assertEquals(orderIds.get(i), order.get("id").asLong());
+            assertEquals(customerId, order.get("customerId").asLong());
+            assertEquals(10.0 * (i + 1), order.get("total").asDouble());
+        }
+    }
+
+    @Test
+    @DisplayName("Given the CSV format and a status filter, should stream a header and the matching rows")
+    void exportOrders_WhenCsvAndFilteredByStatus_ShouldWriteMatchingRows() throws Exception {
+        String body = mockMvc.perform(get("/orders/export")
+                        .param("customerId", customerId.toString())
+                        .param("status", "CREATED")
+                        .param("format", "CSV"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals("id,customerId,discount,status,total,createdAt,updatedAt", lines[0]);
+        assertEquals(ORDERS, lines.length);
+        for (int i = 1; i < lines.length; i++) {
+            String[] columns = lines[i].split(",", -1);
+            assertEquals(7, columns.length);
+            assertEquals(orderIds.get(i).toString(), columns[0]);
+            assertEquals(customerId.toString(), columns[1]);
+            assertEquals("CREATED", columns[3]);
+            assertTrue(columns[5].matches("\\d{4}-\\d{2}-\\d{2} \\d{2}:\\d{2}:\\d{2}"), columns[5]);
+        }
+    }
+}
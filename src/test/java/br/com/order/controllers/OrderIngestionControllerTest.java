@@ -0,0 +1,122 @@
+package br.com.order.controllers;
+
+import br.com.order.application.customer.Customer;
+import br.com.order.application.customer.CustomerRepository;
+import br.com.order.application.ingestion.IOrderIngestionService;
+import br.com.order.application.order.CreateOrderDTO;
+import br.com.order.application.order.OrderItemDTO;
+import br.com.order.application.product.Product;
+import br.com.order.application.product.ProductRepository;
+import br.com.order.services.TransactionalExecutor;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.endsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+class OrderIngestionControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private IOrderIngestionService ingestionService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TransactionalExecutor transactionalExecutor;
+
+    private long enqueue(CreateOrderDTO dto) throws Exception {
+        MvcResult result = mockMvc.perform(post("/orders").param("async", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.status").value("PENDING"))
+                .andReturn();
+        long id = objectMapper.readTree(result.getResponse().getContentAsString()).get("id").asLong();
+        assertThat(result.getResponse().getHeader("Location"), endsWith("/orders/ingestions/" + id));
+        return id;
+    }
+
+    private void drainQueue() {
+        while (ingestionService.drain() > 0) {
+            // also drains the orders queued by other tests sharing the database
+        }
+    }
+
+    @Test
+    @DisplayName("Given async=true, should queue the order, return 202 and create it when the queue is drained")
+    void create_WhenAsync_ShouldQueueAndCreateOrderLater() throws Exception {
+        Long[] ids = transactionalExecutor.execute(() -> new Long[]{
+                customerRepository.save(new Customer("Customer async", "47999999999")).getId(),
+                productRepository.save(new Product("SKU-ASYNC-1", "Product async", BigDecimal.TEN)).getId()});
+        long id = enqueue(new CreateOrderDTO(List.of(new OrderItemDTO(ids[1], 2, BigDecimal.TEN)), ids[0], BigDecimal.ONE));
+
+        mockMvc.perform(get("/orders/ingestions/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("PENDING"))
+                .andExpect(jsonPath("$.orderId").doesNotExist());
+
+        drainQueue();
+
+        MvcResult result = mockMvc.perform(get("/orders/ingestions/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("DONE"))
+                .andExpect(jsonPath("$.attempts").value(1))
+                .andReturn();
+        JsonNode ingestion = objectMapper.readTree(result.getResponse().getContentAsString());
+        mockMvc.perform(get("/orders/{id}", ingestion.get("orderId").asLong()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(19.0));
+    }
+
+    @Test
+    @DisplayName("Given an async order for an unknown customer, should mark the ingestion as failed")
+    void create_WhenAsyncAndCustomerIsUnknown_ShouldFailIngestion() throws Exception {
+        Long productId = transactionalExecutor.execute(() ->
+                productRepository.save(new Product("SKU-ASYNC-2", "Product async", BigDecimal.TEN)).getId());
+        long id = enqueue(new CreateOrderDTO(List.of(new OrderItemDTO(productId, 1, BigDecimal.TEN)), 999_999L, BigDecimal.ZERO));
+
+        drainQueue();
+
+        mockMvc.perform(get("/orders/ingestions/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("FAILED"))
+                .andExpect(jsonPath("$.error").value("Customer not found"))
+                .andExpect(jsonPath("$.orderId").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Given an unknown ingestion id, should return 404")
+    void getIngestion_WhenIdNotFound_ShouldReturnNotFound() throws Exception {
+        mockMvc.perform(get("/orders/ingestions/{id}", 999_999L))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.errors[0]").value("Ingestion not found"));
+    }
+}
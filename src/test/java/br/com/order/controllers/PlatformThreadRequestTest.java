@@ -0,0 +1,36 @@
+package br.com.order.controllers;
+
+import br.com.order.configs.RequestConcurrencyLimitFilter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ActiveProfiles("test")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.threads.virtual.enabled=false",
+        RequestBurstTest.POOL_SIZE,
+        RequestBurstTest.CONNECTION_TIMEOUT
+})
+class PlatformThreadRequestTest extends RequestBurstTest {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Test
+    @DisplayName("With the platform thread pool, the same burst is bounded by Tomcat's workers and waits on Hikari")
+    void getOrderById_WhenBurstExceedsPool_ShouldAnswerEveryRequest() throws Exception {
+        assertTrue(context.getBeansOfType(RequestConcurrencyLimitFilter.class).isEmpty());
+
+        Map<Integer, Integer> statuses = burst("Platform threads");
+
+        assertEquals(CONCURRENT_REQUESTS, statuses.values().stream().mapToInt(Integer::intValue).sum());
+    }
+}
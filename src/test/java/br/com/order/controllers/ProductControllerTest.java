@@ -2,6 +2,7 @@ package br.com.order.controllers;
 
 import br.com.order.application.product.CreateProductDTO;
 import br.com.order.application.product.Product;
+import br.com.order.application.product.ProductCache;
 import br.com.order.application.product.ProductRepository;
 import br.com.order.application.product.UpdateProductDTO;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -11,6 +12,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -20,7 +22,10 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import org.hibernate.exception.ConstraintViolationException;
+
 import java.math.BigDecimal;
+import java.sql.SQLException;
 import java.util.List;
 import java.util.Optional;
 
@@ -36,15 +41,24 @@ class ProductControllerTest {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private ProductCache productCache;
+
     @MockitoBean
     private ProductRepository repository;
 
     @Autowired
     private ObjectMapper objectMapper;
 
+    private static DataIntegrityViolationException skuViolation() {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("Unique index violation", new SQLException(), "uc_products_sku"));
+    }
+
     @BeforeEach
     void setUp() {
         reset(repository);
+        productCache.invalidateAll();
     }
 
     @Test
@@ -52,29 +66,26 @@ class ProductControllerTest {
     void create_WhenValidDtoAndUniqueSku_ShouldReturnCreated() throws Exception {
         CreateProductDTO dto = new CreateProductDTO("SKU123", "Product 1", BigDecimal.TEN);
         Product product = new Product("Product 1", "SKU123", BigDecimal.TEN);
-        when(repository.existsBySku(dto.getSku())).thenReturn(false);
-        when(repository.save(any(Product.class))).thenReturn(product);
+        when(repository.saveAndFlush(any(Product.class))).thenReturn(product);
 
         mockMvc.perform(post("/products")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(dto)))
                 .andExpect(status().isCreated());
-        verify(repository, times(1)).existsBySku(dto.getSku());
-        verify(repository, times(1)).save(any(Product.class));
+        verify(repository, times(1)).saveAndFlush(any(Product.class));
     }
 
     @Test
     @DisplayName("Given a CreateProductDTO with existing SKU, should return 409 Conflict")
     void create_WhenSkuExists_ShouldReturnConflict() throws Exception {
         CreateProductDTO dto = new CreateProductDTO("SKU123", "Product 1", BigDecimal.TEN);
-        when(repository.existsBySku(dto.getSku())).thenReturn(true);
+        when(repository.saveAndFlush(any(Product.class))).thenThrow(skuViolation());
 
         mockMvc.perform(post("/products")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(dto)))
-                .andExpect(status().isConflict());
-        verify(repository, times(1)).existsBySku(dto.getSku());
-        verify(repository, never()).save(any());
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.errors[0]").value("SKU 'SKU123' already exists"));
     }
 
     @Test
@@ -85,14 +96,14 @@ class ProductControllerTest {
         Product existingProduct = new Product("Product 1", "SKU123", BigDecimal.TEN);
         existingProduct.setId(id);
         when(repository.findById(id)).thenReturn(Optional.of(existingProduct));
-        when(repository.save(any(Product.class))).thenReturn(existingProduct);
+        when(repository.saveAndFlush(any(Product.class))).thenReturn(existingProduct);
 
         mockMvc.perform(put("/products/{id}", id)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(dto)))
                 .andExpect(status().isOk());
         verify(repository, times(1)).findById(id);
-        verify(repository, times(1)).save(existingProduct);
+        verify(repository, times(1)).saveAndFlush(existingProduct);
     }
 
     @Test
@@ -103,16 +114,14 @@ class ProductControllerTest {
         Product existingProduct = new Product("Product 1", "SKU123", BigDecimal.TEN);
         existingProduct.setId(id);
         when(repository.findById(id)).thenReturn(Optional.of(existingProduct));
-        when(repository.existsBySku(dto.getSku())).thenReturn(false);
-        when(repository.save(any(Product.class))).thenReturn(existingProduct);
+        when(repository.saveAndFlush(any(Product.class))).thenReturn(existingProduct);
 
         mockMvc.perform(put("/products/{id}", id)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(dto)))
                 .andExpect(status().isOk());
         verify(repository, times(1)).findById(id);
-        verify(repository, times(1)).existsBySku(dto.getSku());
-        verify(repository, times(1)).save(existingProduct);
+        verify(repository, times(1)).saveAndFlush(existingProduct);
     }
 
     @Test
@@ -123,15 +132,13 @@ class ProductControllerTest {
         Product existingProduct = new Product("Product 1", "SKU123", BigDecimal.TEN);
         existingProduct.setId(id);
         when(repository.findById(id)).thenReturn(Optional.of(existingProduct));
-        when(repository.existsBySku(dto.getSku())).thenReturn(true);
+        when(repository.saveAndFlush(any(Product.class))).thenThrow(skuViolation());
 
         mockMvc.perform(put("/products/{id}", id)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(dto)))
                 .andExpect(status().isConflict());
         verify(repository, times(1)).findById(id);
-        verify(repository, times(1)).existsBySku(dto.getSku());
-        verify(repository, never()).save(any());
     }
 
     @Test
@@ -146,8 +153,7 @@ class ProductControllerTest {
                         .content(objectMapper.writeValueAsString(dto)))
                 .andExpect(status().isNotFound());
         verify(repository, times(1)).findById(id);
-        verify(repository, never()).existsBySku(any());
-        verify(repository, never()).save(any());
+        verify(repository, never()).saveAndFlush(any());
     }
 
     @Test
@@ -215,8 +221,7 @@ class ProductControllerTest {
         Product product = new Product("SKU123", "Product 1", BigDecimal.TEN);
         product.setId(1L);
         Page<Product> productPage = new PageImpl<>(List.of(product), pageable, 1);
-        when(repository.findByNameContainsIgnoreCaseOrSkuContainsIgnoreCase(search, search, pageable))
-                .thenReturn(productPage);
+        when(repository.search(search, pageable)).thenReturn(productPage);
 
         mockMvc.perform(get("/products")
                         .param("search", search)
@@ -228,7 +233,6 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$.content[0].sku").value("SKU123"))
                 .andExpect(jsonPath("$.content[0].price").value(BigDecimal.TEN))
                 .andExpect(jsonPath("$.totalElements").value(1));
-        verify(repository, times(1))
-                .findByNameContainsIgnoreCaseOrSkuContainsIgnoreCase(search, search, pageable);
+        verify(repository, times(1)).search(search, pageable);
     }
 }
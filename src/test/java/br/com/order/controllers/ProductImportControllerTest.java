@@ -0,0 +1,159 @@
+package br.com.order.controllers;
+
+import br.com.order.application.product.ProductCache;
+import br.com.order.application.product.ProductDTO;
+import br.com.order.application.product.ProductRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+class ProductImportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository repository;
+
+    @Autowired
+    private ProductCache productCache;
+
+    private ProductDTO findBySku(String sku) {
+        return repository.findAllBySkuIgnoreCase(List.of(sku.toLowerCase())).stream().findFirst().orElse(null);
+    }
+
+    private ResultActions importProducts(String contentType, String body) throws Exception {
+        return mockMvc.perform(post("/products/import").contentType(contentType).content(body));
+    }
+
+    @Test
+    @DisplayName("Given a CSV body, should create the valid products and report the invalid lines")
+    void importProducts_WhenCsv_ShouldCreateValidProductsAndReportErrors() throws Exception {
+        String csv = """
+                name,sku,price
+                "Cable, 2m",SKU-IMPORT-1,19.90
+                "Adapter ""USB-C\""",SKU-IMPORT-2,5
+
+                Missing SKU,,3.50
+                Bad price,SKU-IMPORT-3,abc
+                """;
+
+        importProducts("text/csv", csv)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.read").value(4))
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.updated").value(0))
+                .andExpect(jsonPath("$.rejected").value(2))
+                .andExpect(jsonPath("$.errors[0]", startsWith("Line 5: ")))
+                .andExpect(jsonPath("$.errors[1]").value("Line 6: Invalid price: abc"));
+
+        ProductDTO cable = findBySku("SKU-IMPORT-1");
+        assertEquals("Cable, 2m", cable.getName());
+        assertEquals(0, new BigDecimal("19.90").compareTo(cable.getPrice()));
+        assertEquals("Adapter \"USB-C\"", findBySku("SKU-IMPORT-2").getName());
+        assertNull(findBySku("SKU-IMPORT-3"));
+    }
+
+    @Test
+    @DisplayName("Given NDJSON with existing SKUs in any case, should update changed products, skip unchanged ones and evict the cache")
+    void importProducts_WhenNdjsonWithExistingSkus_ShouldUpsertBySku() throws Exception {
+        importProducts("application/x-ndjson", """
+                {"sku":"SKU-UPSERT-1","name":"Keyboard","price":100}
+                {"sku":"SKU-UPSERT-2","name":"Mouse","price":50}
+                """)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(2));
+        ProductDTO keyboard = findBySku("SKU-UPSERT-1");
+        mockMvc.perform(get("/products/{id}", keyboard.getId()))
+                .andExpect(jsonPath("$.price").value(100));
+
+        importProducts("application/x-ndjson", """
+                {"sku":"SKU-UPSERT-1","name":"Keyboard","price":120}
+                {"sku":"sku-upsert-2","name":"Mouse","price":50.00}
+                {"sku":"SKU-UPSERT-3","name":"Monitor","price":900}
+                {"sku":"SKU-UPSERT-1","name":"Keyboard ABNT2","price":130}
+                not json
+                """)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.read").value(5))
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.updated").value(2))
+                .andExpect(jsonPath("$.unchanged").value(1))
+                .andExpect(jsonPath("$.rejected").value(1));
+
+        assertEquals(keyboard.getId(), findBySku("SKU-UPSERT-1").getId());
+        assertEquals("SKU-UPSERT-2", findBySku("sku-upsert-2").getSku());
+        mockMvc.perform(get("/products/{id}", keyboard.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Keyboard ABNT2"))
+                .andExpect(jsonPath("$.price").value(130));
+    }
+
+    @Test
+    @DisplayName("Given a SKU that changes and reverts in later lines, should leave the last line's product")
+    void importProducts_WhenRepeatedSkuReverts_ShouldKeepLastLine() throws Exception {
+        importProducts("application/x-ndjson", """
+                {"sku":"SKU-REVERT-1","name":"A","price":10}
+                """)
+                .andExpect(jsonPath("$.created").value(1));
+
+        importProducts("application/x-ndjson", """
+                {"sku":"SKU-REVERT-1","name":"B","price":10}
+                {"sku":"SKU-REVERT-1","name":"A","price":10}
+                """)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(2))
+                .andExpect(jsonPath("$.unchanged").value(0));
+
+        assertEquals("A", findBySku("SKU-REVERT-1").getName());
+    }
+
+    @Test
+    @DisplayName("Given more lines than a batch, should import them all with distinct ids and find them unchanged on a reimport")
+    void importProducts_WhenSeveralBatches_ShouldImportEveryLine() throws Exception {
+        StringBuilder csv = new StringBuilder("sku,name,price\n");
+        for (int i = 0; i < 1200; i++) {
+            csv.append("SKU-BATCH-").append(i).append(",Product ").append(i).append(",1.50\n");
+        }
+
+        importProducts("text/csv", csv.toString())
+                .andExpect(jsonPath("$.created").value(1200))
+                .andExpect(jsonPath("$.rejected").value(0));
+        importProducts("text/csv", csv.toString())
+                .andExpect(jsonPath("$.unchanged").value(1200));
+
+        List<ProductDTO> products = repository.findAllBySkuIgnoreCase(List.of("sku-batch-0", "sku-batch-600", "sku-batch-1199"));
+        Set<Long> ids = new HashSet<>();
+        products.forEach(product -> ids.add(product.getId()));
+        assertEquals(3, ids.size());
+        productCache.invalidateAll();
+    }
+
+    @Test
+    @DisplayName("Given a CSV without the required columns, should return 400")
+    void importProducts_WhenCsvHeaderIsIncomplete_ShouldReturnBadRequest() throws Exception {
+        importProducts("text/csv", "sku,name\nSKU-HEADER-1,Product\n")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0]").value("The CSV header must name the sku, name and price columns"));
+    }
+}
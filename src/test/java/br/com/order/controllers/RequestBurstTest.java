@@ -0,0 +1,71 @@
+package br.com.order.controllers;
+
+import br.com.order.application.customer.Customer;
+import br.com.order.application.customer.CustomerRepository;
+import br.com.order.application.order.Order;
+import br.com.order.application.order.OrderRepository;
+import br.com.order.services.TransactionalExecutor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Sends the same burst of concurrent {@code GET /orders/{id}} to an application whose Hikari pool is much smaller
+ * than the burst, so the platform-thread and virtual-thread request modes can be compared on equal terms.
+ */
+@Slf4j
+abstract class RequestBurstTest {
+
+    static final int CONCURRENT_REQUESTS = 300;
+    static final String POOL_SIZE = "spring.datasource.hikari.maximum-pool-size=4";
+    static final String CONNECTION_TIMEOUT = "spring.datasource.hikari.connection-timeout=2000";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private TransactionalExecutor transactionalExecutor;
+
+    /**
+     * Fires the burst and returns the number of responses per HTTP status.
+     */
+    Map<Integer, Integer> burst(String mode) throws Exception {
+        Long orderId = transactionalExecutor.execute(() -> {
+            Order order = new Order();
+            order.setCustomer(customerRepository.save(new Customer("Customer burst", "47999999999")));
+            return orderRepository.save(order).getId();
+        });
+
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/orders/" + orderId)).GET().build();
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>(CONCURRENT_REQUESTS);
+        long start = System.nanoTime();
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+        }
+
+        Map<Integer, Integer> statuses = new TreeMap<>();
+        for (CompletableFuture<HttpResponse<String>> response : responses) {
+            statuses.merge(response.join().statusCode(), 1, Integer::sum);
+        }
+        log.info("{}: {} concurrent requests answered in {} ms, responses by status {}",
+                mode, CONCURRENT_REQUESTS, (System.nanoTime() - start) / 1_000_000, statuses);
+        return statuses;
+    }
+}
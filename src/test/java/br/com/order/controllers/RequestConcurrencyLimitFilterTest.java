@@ -0,0 +1,71 @@
+package br.com.order.controllers;
+
+import br.com.order.configs.RequestConcurrencyLimitFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class RequestConcurrencyLimitFilterTest {
+
+    @Test
+    @DisplayName("Requests beyond the in-flight limit should get 503 once the acquire timeout expires, excluded paths should bypass it")
+    void doFilter_WhenLimitIsReached_ShouldReturnServiceUnavailable() throws Exception {
+        var filter = new RequestConcurrencyLimitFilter(mock(DataSource.class), new ObjectMapper(), 1, Duration.ofMillis(100),
+                List.of("/actuator/**", "/orders/export"));
+        var entered = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        FilterChain blockingChain = (request, response) -> {
+            entered.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<MockHttpServletResponse> first = executor.submit(() -> {
+                var response = new MockHttpServletResponse();
+                filter.doFilter(new MockHttpServletRequest("GET", "/orders/1"), response, blockingChain);
+                return response;
+            });
+            assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+            var rejected = new MockHttpServletResponse();
+            filter.doFilter(new MockHttpServletRequest("GET", "/orders/2"), rejected, (request, response) -> fail("should not run"));
+            assertEquals(503, rejected.getStatus());
+            assertEquals("1", rejected.getHeader("Retry-After"));
+            assertTrue(rejected.getContentAsString().contains("The service is overloaded. Try again later."));
+
+            for (String excluded : List.of("/actuator/health", "/actuator/prometheus", "/orders/export")) {
+                var bypassed = new MockHttpServletResponse();
+                var chain = new MockFilterChain();
+                filter.doFilter(new MockHttpServletRequest("GET", excluded), bypassed, chain);
+                assertEquals(200, bypassed.getStatus(), excluded);
+                assertNotNull(chain.getRequest(), excluded);
+            }
+
+            release.countDown();
+            assertEquals(200, first.get(5, TimeUnit.SECONDS).getStatus());
+        }
+
+        var afterRelease = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/orders/3"), afterRelease, (request, response) -> { });
+        assertEquals(200, afterRelease.getStatus());
+    }
+}
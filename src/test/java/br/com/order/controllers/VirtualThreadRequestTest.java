@@ -0,0 +1,37 @@
+package br.com.order.controllers;
+
+import br.com.order.configs.RequestConcurrencyLimitFilter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@ActiveProfiles("test")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.threads.virtual.enabled=true",
+        RequestBurstTest.POOL_SIZE,
+        RequestBurstTest.CONNECTION_TIMEOUT,
+        "order.concurrency.acquire-timeout=30s"
+})
+class VirtualThreadRequestTest extends RequestBurstTest {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Test
+    @DisplayName("With virtual threads, a burst larger than the connection pool should be queued instead of failing")
+    void getOrderById_WhenBurstExceedsPool_ShouldServeEveryRequest() throws Exception {
+        assertNotNull(context.getBean(RequestConcurrencyLimitFilter.class));
+
+        Map<Integer, Integer> statuses = burst("Virtual threads");
+
+        assertEquals(Map.of(200, CONCURRENT_REQUESTS), statuses);
+    }
+}
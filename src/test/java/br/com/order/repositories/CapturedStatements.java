@@ -0,0 +1,36 @@
+package br.com.order.repositories;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Records the SQL Hibernate sends on the current thread while {@link #capture} runs, so tests can inspect the
+ * statements the repositories really issue.
+ */
+public class CapturedStatements implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> STATEMENTS = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        List<String> statements = STATEMENTS.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+
+    public static List<String> capture(Callable<?> callable) throws Exception {
+        List<String> statements = new ArrayList<>();
+        STATEMENTS.set(statements);
+        try {
+            callable.call();
+            return statements;
+        } finally {
+            STATEMENTS.remove();
+        }
+    }
+}
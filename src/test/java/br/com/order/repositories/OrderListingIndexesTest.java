@@ -0,0 +1,99 @@
+package br.com.order.repositories;
+
+import br.com.order.application.customer.Customer;
+import br.com.order.application.customer.CustomerRepository;
+import br.com.order.application.order.Order;
+import br.com.order.application.order.OrderItem;
+import br.com.order.application.order.OrderRepository;
+import br.com.order.application.order.OrderSpecifications;
+import br.com.order.application.order.OrderStatus;
+import br.com.order.application.product.Product;
+import br.com.order.application.product.ProductRepository;
+import br.com.order.services.TransactionalExecutor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * EXPLAINs the SQL the repositories issue for the order listing against the schema built by V4.
+ */
+class OrderListingIndexesTest extends PostgresTest {
+
+    private static final PageRequest PAGE = PageRequest.of(0, 10, Sort.by("createdAt", "id"));
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TransactionalExecutor transactionalExecutor;
+
+    private String listingPlan(Specification<Order> spec) throws Exception {
+        List<String> statements = CapturedStatements.capture(() -> transactionalExecutor.execute(() ->
+                orderRepository.findAll(spec, PAGE)));
+        return explain(statements.stream()
+                .filter(sql -> sql.contains("from orders") && !sql.contains("count("))
+                .findFirst().orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Listing orders without filters should use the (created_at, id) index")
+    void listOrders_WhenUnfiltered_ShouldUseCreatedAtIndex() throws Exception {
+        String plan = listingPlan(OrderSpecifications.filterByStatus(null));
+        assertTrue(plan.contains("idx_orders_created_at"), plan);
+    }
+
+    @Test
+    @DisplayName("Listing orders by status should use the (status, created_at) index")
+    void listOrders_WhenFilteredByStatus_ShouldUseStatusIndex() throws Exception {
+        String plan = listingPlan(OrderSpecifications.filterByStatus(OrderStatus.CREATED));
+        assertTrue(plan.contains("idx_orders_status_created_at"), plan);
+    }
+
+    @Test
+    @DisplayName("Listing orders by customer should use the (customer_id, created_at) index")
+    void listOrders_WhenFilteredByCustomer_ShouldUseCustomerIndex() throws Exception {
+        String plan = listingPlan(OrderSpecifications.filterByCustomerId(1L));
+        assertTrue(plan.contains("idx_orders_customer_id_created_at"), plan);
+    }
+
+    @Test
+    @DisplayName("Listing orders by product should use the (product_id, order_id) index")
+    void listOrders_WhenFilteredByProduct_ShouldUseProductIndex() throws Exception {
+        String plan = listingPlan(OrderSpecifications.filterByProductId(1L));
+        assertTrue(plan.contains("idx_order_items_product_id_order_id"), plan);
+    }
+
+    @Test
+    @DisplayName("Loading the items of an order should use the order_id index")
+    void getOrderItems_WhenLoadingByOrder_ShouldUseOrderIdIndex() throws Exception {
+        Long orderId = transactionalExecutor.execute(() -> {
+            Product product = productRepository.save(new Product("SKU-INDEX-ITEMS", "Product", BigDecimal.ONE));
+            Order order = new Order();
+            order.setCustomer(customerRepository.save(new Customer("Customer indexes", "47999999999")));
+            order.addItem(new OrderItem(product, 1, BigDecimal.ONE));
+            order.recalculateTotals();
+            return orderRepository.save(order).getId();
+        });
+
+        List<String> statements = CapturedStatements.capture(() -> transactionalExecutor.execute(() ->
+                orderRepository.findById(orderId).orElseThrow().getItems().size()));
+        String plan = explain(statements.stream()
+                .filter(sql -> sql.contains("from order_items"))
+                .findFirst().orElseThrow());
+        assertTrue(plan.contains("idx_order_items_order_id"), plan);
+    }
+}
@@ -0,0 +1,139 @@
+package br.com.order.repositories;
+
+import br.com.order.application.customer.Customer;
+import br.com.order.application.customer.CustomerRepository;
+import br.com.order.application.order.*;
+import br.com.order.application.product.Product;
+import br.com.order.application.product.ProductRepository;
+import br.com.order.services.TransactionalExecutor;
+import jakarta.persistence.criteria.Join;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureTestDatabase
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class OrderProductFilterTest {
+
+    private static final int ORDERS = 120;
+    private static final int ITEMS_PER_ORDER = 25;
+    private static final int PAGE_SIZE = 10;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private IOrderService orderService;
+
+    @Autowired
+    private TransactionalExecutor transactionalExecutor;
+
+    private Long productId;
+    private int ordersWithProduct;
+
+    @BeforeAll
+    void createDataset() throws Exception {
+        transactionalExecutor.execute(() -> {
+            Customer customer = customerRepository.save(new Customer("Customer filter", "47999999999"));
+            List<Product> products = new ArrayList<>();
+            for (int i = 0; i < ITEMS_PER_ORDER; i++) {
+                products.add(new Product("SKU-FILTER-" + i, "Product " + i, BigDecimal.ONE));
+            }
+            productRepository.saveAll(products);
+            productId = products.get(0).getId();
+
+            for (int o = 0; o < ORDERS; o++) {
+                Order order = new Order();
+                order.setCustomer(customer);
+                // every other order contains the filtered product, one of them twice (the schema allows it)
+                int first = o % 2 == 0 ? 0 : 1;
+                for (int i = first; i < ITEMS_PER_ORDER; i++) {
+                    order.addItem(new OrderItem(products.get(i), 1, BigDecimal.ONE));
+                }
+                if (o == 0) {
+                    order.addItem(new OrderItem(products.get(0), 2, BigDecimal.ONE));
+                }
+                order.recalculateTotals();
+                orderRepository.save(order);
+                ordersWithProduct += first == 0 ? 1 : 0;
+            }
+            return null;
+        });
+    }
+
+    @Test
+    @DisplayName("Filtering by product should count every order once and return full pages without duplicates")
+    void listOrders_WhenFilteredByProduct_ShouldReturnCorrectPages() {
+        Set<Long> ids = new HashSet<>();
+        Page<OrderWithoutItems> page = orderService.listOrders(null, null, productId,
+                PageRequest.of(0, PAGE_SIZE, Sort.by("createdAt", "id")));
+        while (true) {
+            assertEquals(ordersWithProduct, page.getTotalElements());
+            page.forEach(order -> assertTrue(ids.add(order.getId()), "duplicated order " + order.getId()));
+            if (!page.hasNext()) {
+                break;
+            }
+            assertEquals(PAGE_SIZE, page.getNumberOfElements());
+            page = orderService.listOrders(null, null, productId, page.nextPageable());
+        }
+
+        assertEquals(ordersWithProduct, ids.size());
+    }
+
+    @Test
+    @DisplayName("Scrolling by product should visit every matching order exactly once")
+    void scrollOrders_WhenFilteredByProduct_ShouldVisitEveryOrderOnce() {
+        Set<Long> ids = new HashSet<>();
+        OrderSliceDTO slice = orderService.scrollOrders(null, null, productId, null, PAGE_SIZE);
+        while (true) {
+            slice.getContent().forEach(order -> assertTrue(ids.add(order.getId()), "duplicated order " + order.getId()));
+            if (!slice.isHasNext()) {
+                break;
+            }
+            slice = orderService.scrollOrders(null, null, productId, slice.getNextCursor(), PAGE_SIZE);
+        }
+
+        assertEquals(ordersWithProduct, ids.size());
+    }
+
+    @Test
+    @DisplayName("The EXISTS filter should not count the duplicated rows produced by the former join filter")
+    void filterByProductId_WhenComparedWithJoin_ShouldNotMultiplyRows() throws Exception {
+        Specification<Order> joinFilter = (root, query, cb) -> {
+            Join<Order, OrderItem> items = root.join("items");
+            return cb.equal(items.get("product").get("id"), productId);
+        };
+
+        long joinCount = transactionalExecutor.execute(() -> orderRepository.count(joinFilter));
+        long existsCount = transactionalExecutor.execute(() ->
+                orderRepository.count(OrderSpecifications.filterByProductId(productId)));
+
+        assertEquals(ordersWithProduct + 1, joinCount);
+        assertEquals(ordersWithProduct, existsCount);
+    }
+}
@@ -0,0 +1,115 @@
+package br.com.order.repositories;
+
+import br.com.order.application.order.Order;
+import br.com.order.application.order.OrderLockingProperties;
+import br.com.order.application.order.OrderRepositoryImpl;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class OrderRepositoryLockWaitTest {
+
+    private static final String LOCK_TIMEOUT = "jakarta.persistence.lock.timeout";
+
+    private EntityManager entityManager;
+    private SessionFactoryImplementor sessionFactory;
+    private OrderLockingProperties properties;
+    private OrderRepositoryImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        entityManager = mock(EntityManager.class, RETURNS_DEEP_STUBS);
+        sessionFactory = mock(SessionFactoryImplementor.class, RETURNS_DEEP_STUBS);
+        when(entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getJdbcServices().getDialect()).thenReturn(new H2Dialect());
+        properties = new OrderLockingProperties();
+        repository = new OrderRepositoryImpl(entityManager, properties);
+    }
+
+    @Test
+    @DisplayName("WAIT should pass the configured lock timeout as hint")
+    void findById_WhenWait_ShouldUseLockTimeoutHint() {
+        properties.setLockTimeout(Duration.ofMillis(1500));
+        Order order = new Order();
+        when(entityManager.find(eq(Order.class), eq(1L), eq(LockModeType.PESSIMISTIC_WRITE), anyMap())).thenReturn(order);
+
+        assertEquals(Optional.of(order), repository.findById(1L));
+
+        verify(entityManager).find(Order.class, 1L, LockModeType.PESSIMISTIC_WRITE, Map.of(LOCK_TIMEOUT, 1500));
+        verify(entityManager, never()).createNativeQuery(anyString());
+    }
+
+    @Test
+    @DisplayName("WAIT with a zero timeout should keep the database default")
+    void findById_WhenWaitWithoutTimeout_ShouldWaitForever() {
+        properties.setLockTimeout(Duration.ZERO);
+
+        repository.findById(1L);
+
+        verify(entityManager).find(Order.class, 1L, LockModeType.PESSIMISTIC_WRITE, Map.of(LOCK_TIMEOUT, -1));
+    }
+
+    @Test
+    @DisplayName("WAIT on PostgreSQL should set lock_timeout for the transaction")
+    void findById_WhenWaitOnPostgreSQL_ShouldSetLockTimeout() {
+        when(sessionFactory.getJdbcServices().getDialect()).thenReturn(new PostgreSQLDialect());
+        Query query = mock(Query.class, RETURNS_SELF);
+        when(entityManager.createNativeQuery("select set_config('lock_timeout', :timeout, true)")).thenReturn(query);
+
+        repository.findById(1L);
+
+        verify(query).setParameter("timeout", "2000ms");
+        verify(query).getSingleResult();
+    }
+
+    @Test
+    @DisplayName("NOWAIT should use a zero lock timeout hint")
+    void findById_WhenNoWait_ShouldUseNoWaitHint() {
+        properties.setLockWait(OrderLockingProperties.LockWait.NOWAIT);
+
+        repository.findById(1L);
+
+        verify(entityManager).find(Order.class, 1L, LockModeType.PESSIMISTIC_WRITE, Map.of(LOCK_TIMEOUT, 0));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    @DisplayName("SKIP_LOCKED should report a conflict when the order exists but was skipped")
+    void findById_WhenSkipLockedAndOrderIsLocked_ShouldThrowCannotAcquireLock() {
+        properties.setLockWait(OrderLockingProperties.LockWait.SKIP_LOCKED);
+        TypedQuery<Long> count = mock(TypedQuery.class, RETURNS_SELF);
+        when(count.getSingleResult()).thenReturn(1L);
+        when(entityManager.createQuery(anyString(), eq(Long.class))).thenReturn(count);
+
+        assertThrows(CannotAcquireLockException.class, () -> repository.findById(1L));
+        verify(entityManager).find(Order.class, 1L, LockModeType.PESSIMISTIC_WRITE, Map.of(LOCK_TIMEOUT, -2));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    @DisplayName("SKIP_LOCKED should return empty when the order does not exist")
+    void findById_WhenSkipLockedAndOrderIsMissing_ShouldReturnEmpty() {
+        properties.setLockWait(OrderLockingProperties.LockWait.SKIP_LOCKED);
+        TypedQuery<Long> count = mock(TypedQuery.class, RETURNS_SELF);
+        when(count.getSingleResult()).thenReturn(0L);
+        when(entityManager.createQuery(anyString(), eq(Long.class))).thenReturn(count);
+
+        assertTrue(repository.findById(1L).isEmpty());
+    }
+}
@@ -0,0 +1,116 @@
+package br.com.order.repositories;
+
+import org.junit.jupiter.api.extension.ConditionEvaluationResult;
+import org.junit.jupiter.api.extension.ExecutionCondition;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import br.com.order.services.TransactionalExecutor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.util.Collections;
+
+/**
+ * Base of the tests that need PostgreSQL itself: the schema is built by the Flyway migrations instead of Hibernate,
+ * so they cover the migrations, the PostgreSQL-only indexes and the PostgreSQL branches of the repositories. They run
+ * on a Testcontainers database when Docker is available, or on the database given by {@code -Dorder.test.postgres.url}
+ * ({@code .username} and {@code .password}, {@code root} by default), and are skipped otherwise. The schema is
+ * cleaned and migrated again when the application context starts.
+ */
+@ActiveProfiles({"test", "postgres"})
+@SpringBootTest
+@Import(PostgresTest.CleanMigration.class)
+@ExtendWith(PostgresTest.Availability.class)
+public abstract class PostgresTest {
+
+    static final String URL = "order.test.postgres.url";
+    static final String USERNAME = "order.test.postgres.username";
+    static final String PASSWORD = "order.test.postgres.password";
+
+    private static PostgreSQLContainer<?> container;
+
+    @Autowired
+    private TransactionalExecutor transactionalExecutor;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Plans a statement captured from Hibernate as a prepared statement with a generic plan, the one reused for every
+     * parameter value, so the parameters are left as NULLs. Sequential scans are disabled, since on the few rows of a
+     * test database they would always win: this shows which indexes can serve the statement, not the planner's cost
+     * estimates.
+     */
+    protected String explain(String sql) throws Exception {
+        StringBuilder numbered = new StringBuilder();
+        int parameters = 0;
+        for (char c : sql.toCharArray()) {
+            numbered.append(c == '?' ? "$" + ++parameters : String.valueOf(c));
+        }
+        String execute = parameters == 0
+                ? "EXPLAIN EXECUTE captured"
+                : "EXPLAIN EXECUTE captured(" + String.join(", ", Collections.nCopies(parameters, "NULL")) + ")";
+        return transactionalExecutor.execute(() -> {
+            jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+            jdbcTemplate.execute("SET LOCAL plan_cache_mode = force_generic_plan");
+            jdbcTemplate.execute("PREPARE captured AS " + numbered);
+            try {
+                return String.join("\n", jdbcTemplate.queryForList(execute, String.class));
+            } finally {
+                jdbcTemplate.execute("DEALLOCATE captured");
+            }
+        });
+    }
+
+    static class Availability implements ExecutionCondition {
+        @Override
+        public ConditionEvaluationResult evaluateExecutionCondition(ExtensionContext context) {
+            if (System.getProperty(URL) != null || DockerClientFactory.instance().isDockerAvailable()) {
+                return ConditionEvaluationResult.enabled("PostgreSQL available");
+            }
+            return ConditionEvaluationResult.disabled("Neither Docker nor -D" + URL + " is available");
+        }
+    }
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        if (System.getProperty(URL) != null) {
+            registry.add("spring.datasource.url", () -> System.getProperty(URL));
+            registry.add("spring.datasource.username", () -> System.getProperty(USERNAME, "root"));
+            registry.add("spring.datasource.password", () -> System.getProperty(PASSWORD, "root"));
+            return;
+        }
+        registry.add("spring.datasource.url", () -> container().getJdbcUrl());
+        registry.add("spring.datasource.username", () -> container().getUsername());
+        registry.add("spring.datasource.password", () -> container().getPassword());
+    }
+
+    private static synchronized PostgreSQLContainer<?> container() {
+        if (container == null) {
+            container = new PostgreSQLContainer<>("postgres:16-alpine");
+            container.start();
+        }
+        return container;
+    }
+
+    @TestConfiguration
+    static class CleanMigration {
+        @Bean
+        FlywayMigrationStrategy cleanMigration() {
+            return flyway -> {
+                flyway.clean();
+                flyway.migrate();
+            };
+        }
+    }
+}
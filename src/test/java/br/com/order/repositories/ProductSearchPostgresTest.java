@@ -0,0 +1,74 @@
+package br.com.order.repositories;
+
+import br.com.order.application.product.Product;
+import br.com.order.application.product.ProductRepository;
+import br.com.order.services.TransactionalExecutor;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The {@code pg_trgm} branch of the product search, against the trigram indexes of V10.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ProductSearchPostgresTest extends PostgresTest {
+
+    @Autowired
+    private ProductRepository repository;
+
+    @Autowired
+    private TransactionalExecutor transactionalExecutor;
+
+    @BeforeAll
+    void createProducts() throws Exception {
+        transactionalExecutor.execute(() -> repository.saveAll(List.of(
+                new Product("TRGM-1", "Mousepad XL", BigDecimal.ONE),
+                new Product("TRGM-2", "Wireless Mouse", BigDecimal.ONE),
+                new Product("TRGM-3", "Mouse", BigDecimal.ONE),
+                new Product("TRGM-4", "Keyboard", BigDecimal.ONE))));
+    }
+
+    private List<String> searchStatements(String term) throws Exception {
+        return CapturedStatements.capture(() -> repository.search(term, PageRequest.of(0, 10)));
+    }
+
+    @Test
+    @DisplayName("Search should rank the matches by trigram similarity to the term")
+    void search_WhenUnsorted_ShouldRankBySimilarity() {
+        List<String> skus = repository.search("MOUSE", PageRequest.of(0, 10)).stream()
+                .map(Product::getSku)
+                .filter(sku -> sku.startsWith("TRGM-")) // other PostgreSQL tests share the database
+                .toList();
+
+        assertEquals(List.of("TRGM-3", "TRGM-2", "TRGM-1"), skus);
+    }
+
+    @Test
+    @DisplayName("Search should bind the term, so different terms issue the same statement")
+    void search_WhenTermChanges_ShouldReuseStatement() throws Exception {
+        String statement = searchStatements("mous").get(0);
+
+        assertEquals(statement, searchStatements("wireless").get(0));
+        assertTrue(statement.contains("similarity"), statement);
+        assertFalse(statement.contains("mous"), statement);
+    }
+
+    @Test
+    @DisplayName("Search should be answered by the trigram indexes on name and SKU")
+    void search_WhenExplained_ShouldUseTrigramIndexes() throws Exception {
+        String plan = explain(searchStatements("mouse").get(0));
+
+        assertTrue(plan.contains("idx_products_name_trgm"), plan);
+        assertTrue(plan.contains("idx_products_sku_trgm"), plan);
+    }
+}
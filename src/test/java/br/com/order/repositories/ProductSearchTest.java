@@ -0,0 +1,74 @@
+package br.com.order.repositories;
+
+import br.com.order.application.product.Product;
+import br.com.order.application.product.ProductRepository;
+import br.com.order.services.TransactionalExecutor;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureTestDatabase
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ProductSearchTest {
+
+    @Autowired
+    private ProductRepository repository;
+
+    @Autowired
+    private TransactionalExecutor transactionalExecutor;
+
+    @BeforeAll
+    void createProducts() throws Exception {
+        transactionalExecutor.execute(() -> repository.saveAll(List.of(
+                new Product("SEARCH-1", "Zyx Keyboard", BigDecimal.ONE),
+                new Product("ZYX", "Cable", BigDecimal.ONE),
+                new Product("SEARCH-3", "Mouse zyx", BigDecimal.ONE),
+                new Product("ZYX-PAD", "Pad", BigDecimal.ONE),
+                new Product("SEARCH-5", "50%_off zyx", BigDecimal.ONE))));
+    }
+
+    private static List<String> skus(Page<Product> page) {
+        return page.map(Product::getSku).getContent();
+    }
+
+    @Test
+    @DisplayName("Search should rank exact matches first, then prefixes, then any other occurrence in name or SKU")
+    void search_WhenUnsorted_ShouldRankMatches() {
+        Page<Product> first = repository.search(" zYx ", PageRequest.of(0, 3));
+        Page<Product> second = repository.search(" zYx ", PageRequest.of(1, 3));
+
+        assertEquals(5, first.getTotalElements());
+        assertEquals(List.of("ZYX", "ZYX-PAD", "SEARCH-1"), skus(first));
+        assertEquals(List.of("SEARCH-5", "SEARCH-3"), skus(second));
+    }
+
+    @Test
+    @DisplayName("Search should keep an explicit sort instead of the ranking")
+    void search_WhenSorted_ShouldApplySort() {
+        Page<Product> page = repository.search("zyx", PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "sku")));
+
+        assertEquals(List.of("ZYX-PAD", "ZYX", "SEARCH-5", "SEARCH-3", "SEARCH-1"), skus(page));
+    }
+
+    @Test
+    @DisplayName("Search should match LIKE wildcards literally")
+    void search_WhenTermHasWildcards_ShouldMatchThemLiterally() {
+        assertEquals(List.of("SEARCH-5"), skus(repository.search("%_", PageRequest.of(0, 10))));
+        assertEquals(0, repository.search("zyx_", PageRequest.of(0, 10)).getTotalElements());
+    }
+}
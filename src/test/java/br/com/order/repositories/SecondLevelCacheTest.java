@@ -0,0 +1,100 @@
+package br.com.order.repositories;
+
+import br.com.order.application.customer.Customer;
+import br.com.order.application.customer.CustomerRepository;
+import br.com.order.application.order.Order;
+import br.com.order.application.order.OrderItem;
+import br.com.order.application.order.OrderRepository;
+import br.com.order.application.order.OrderStatus;
+import br.com.order.application.product.Product;
+import br.com.order.application.product.ProductRepository;
+import br.com.order.services.TransactionalExecutor;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ActiveProfiles({"test", "l2cache"})
+@SpringBootTest
+@AutoConfigureTestDatabase
+class SecondLevelCacheTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private TransactionalExecutor transactionalExecutor;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Products and customers loaded by id in new sessions should come from the second-level cache")
+    void findById_WhenEntityIsCached_ShouldNotQueryDatabase() throws Exception {
+        Product product = transactionalExecutor.execute(() ->
+                productRepository.save(new Product("SKU-L2", "Product L2", BigDecimal.TEN)));
+        Customer customer = transactionalExecutor.execute(() ->
+                customerRepository.save(new Customer("Customer L2", "47999999999")));
+        statistics.clear();
+
+        for (int i = 0; i < 2; i++) {
+            transactionalExecutor.execute(() -> productRepository.findById(product.getId()).orElseThrow());
+            transactionalExecutor.execute(() -> customerRepository.findById(customer.getId()).orElseThrow());
+        }
+
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(2, statistics.getEntityStatistics(Product.class.getName()).getCacheHitCount());
+        assertEquals(2, statistics.getEntityStatistics(Customer.class.getName()).getCacheHitCount());
+    }
+
+    @Test
+    @DisplayName("The items of a closed order should be served from the collection cache")
+    void orderItems_WhenOrderIsClosed_ShouldComeFromCollectionCache() throws Exception {
+        Long orderId = transactionalExecutor.execute(() -> {
+            Customer customer = customerRepository.save(new Customer("Customer L2 order", "47999999999"));
+            Product product = productRepository.save(new Product("SKU-L2-ORDER", "Product L2 order", BigDecimal.ONE));
+            Order order = new Order(new ArrayList<>(List.of(new OrderItem(product, 1, BigDecimal.ONE))),
+                    customer, BigDecimal.ZERO, OrderStatus.DELIVERED);
+            order.getItems().forEach(item -> item.setOrder(order));
+            return orderRepository.save(order).getId();
+        });
+        statistics.clear();
+
+        for (int i = 0; i < 3; i++) {
+            int size = transactionalExecutor.execute(() ->
+                    orderRepository.findForUpdateById(orderId).orElseThrow().getItems().size());
+            assertEquals(1, size);
+        }
+
+        String role = Order.class.getName() + ".items";
+        assertEquals(1, statistics.getCollectionStatistics(role).getCacheMissCount());
+        assertTrue(statistics.getCollectionStatistics(role).getCacheHitCount() >= 2);
+    }
+}
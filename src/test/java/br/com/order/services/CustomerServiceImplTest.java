@@ -31,6 +31,9 @@ class CustomerServiceImplTest {
     @Mock
     private CustomerMapper mapper;
 
+    @Mock
+    private CustomerReferenceCache customerCache;
+
     @InjectMocks
     private CustomerServiceImpl service;
 
@@ -63,6 +66,7 @@ class CustomerServiceImplTest {
         verify(repository, times(1)).findById(id);
         verify(mapper, times(1)).update(existingCustomer, dto);
         verify(repository, times(1)).save(existingCustomer);
+        verify(customerCache, times(1)).evict(id);
     }
 
     @Test
@@ -121,6 +125,7 @@ class CustomerServiceImplTest {
 
         verify(repository, times(1)).findById(id);
         verify(repository, times(1)).delete(customer);
+        verify(customerCache, times(1)).evict(id);
     }
 
     @Test
@@ -0,0 +1,196 @@
+package br.com.order.services;
+
+import br.com.order.application.ingestion.*;
+import br.com.order.application.order.CreateOrderDTO;
+import br.com.order.application.order.IOrderService;
+import br.com.order.application.order.OrderBatchResultDTO;
+import br.com.order.application.order.OrderItemDTO;
+import br.com.order.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderIngestionServiceImplTest {
+
+    @Mock
+    private OrderIngestionRepository repository;
+
+    @Mock
+    private IOrderService orderService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OrderIngestionProperties properties;
+    private SimpleMeterRegistry registry;
+    private OrderIngestionServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        properties = new OrderIngestionProperties();
+        registry = new SimpleMeterRegistry();
+        service = new OrderIngestionServiceImpl(repository, orderService, new TransactionTemplate(transactionManager),
+                properties, registry);
+    }
+
+    private OrderIngestion ingestion(Long id, Long customerId) {
+        OrderIngestion ingestion = new OrderIngestion(new CreateOrderDTO(
+                List.of(new OrderItemDTO(1L, 1, BigDecimal.TEN)), customerId, BigDecimal.ZERO));
+        ingestion.setId(id);
+        return ingestion;
+    }
+
+    @Test
+    @DisplayName("Given a queue below the limit, should store the order as pending")
+    void enqueue_WhenQueueHasRoom_ShouldStorePendingIngestion() {
+        when(repository.countByStatus(IngestionStatus.PENDING)).thenReturn(0L);
+        when(repository.save(any(OrderIngestion.class))).thenAnswer(invocation -> {
+            OrderIngestion ingestion = invocation.getArgument(0);
+            ingestion.setId(10L);
+            return ingestion;
+        });
+
+        OrderIngestionDTO result = service.enqueue(ingestion(null, 1L).getPayload());
+
+        assertEquals(10L, result.getId());
+        assertEquals(IngestionStatus.PENDING, result.getStatus());
+        assertEquals(1.0, registry.get("order.ingestion.pending").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Given a full queue, should refuse new orders with ServiceUnavailableException")
+    void enqueue_WhenQueueIsFull_ShouldThrowServiceUnavailable() {
+        properties.setMaxPending(100);
+        when(repository.countByStatus(IngestionStatus.PENDING)).thenReturn(100L);
+
+        assertThrows(ServiceUnavailableException.class, () -> service.enqueue(ingestion(null, 1L).getPayload()));
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Given a batch, should complete the created orders and reject the invalid ones")
+    void drain_WhenBatchIsProcessed_ShouldCompleteAndRejectIngestions() {
+        OrderIngestion valid = ingestion(1L, 1L);
+        OrderIngestion invalid = ingestion(2L, 99L);
+        when(repository.claimPending(any(LocalDateTime.class), eq(properties.getBatchSize())))
+                .thenReturn(List.of(valid, invalid));
+        when(orderService.createAll(List.of(valid.getPayload(), invalid.getPayload()))).thenReturn(List.of(
+                OrderBatchResultDTO.created(0, 500L),
+                OrderBatchResultDTO.failed(1, "Customer not found")));
+
+        assertEquals(2, service.drain());
+
+        assertEquals(IngestionStatus.DONE, valid.getStatus());
+        assertEquals(500L, valid.getOrderId());
+        assertEquals(IngestionStatus.FAILED, invalid.getStatus());
+        assertEquals("Customer not found", invalid.getError());
+        verify(repository).saveAll(List.of(valid, invalid));
+        assertEquals(1, registry.get(OrderIngestionServiceImpl.PROCESSED_COUNTER).tag("outcome", "done").counter().count());
+        assertEquals(1, registry.get(OrderIngestionServiceImpl.PROCESSED_COUNTER).tag("outcome", "failed").counter().count());
+    }
+
+    @Test
+    @DisplayName("Given a batch whose transaction fails to commit, should keep the orders counted as pending")
+    void drain_WhenCommitFails_ShouldKeepPendingGauge() {
+        when(repository.countByStatus(IngestionStatus.PENDING)).thenReturn(0L);
+        when(repository.save(any(OrderIngestion.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        service.enqueue(ingestion(null, 1L).getPayload());
+
+        OrderIngestion queued = ingestion(1L, 1L);
+        when(repository.claimPending(any(LocalDateTime.class), anyInt())).thenReturn(List.of(queued));
+        when(orderService.createAll(List.of(queued.getPayload()))).thenReturn(List.of(OrderBatchResultDTO.created(0, 500L)));
+        doThrow(new TransactionSystemException("commit failed")).when(transactionManager).commit(any());
+
+        service.drain();
+
+        assertEquals(1.0, registry.get("order.ingestion.pending").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Given a batch whose commit fails and is replayed row by row, should count each order once")
+    void drain_WhenBatchCommitFailsAndIsReplayed_ShouldCountOutcomesOnce() {
+        OrderIngestion first = ingestion(1L, 1L);
+        OrderIngestion second = ingestion(2L, 2L);
+        when(repository.claimPending(any(LocalDateTime.class), anyInt())).thenReturn(List.of(first, second));
+        when(orderService.createAll(List.of(first.getPayload(), second.getPayload()))).thenReturn(List.of(
+                OrderBatchResultDTO.created(0, 500L),
+                OrderBatchResultDTO.created(1, 501L)));
+        when(repository.claimPendingById(1L)).thenReturn(Optional.of(first));
+        when(repository.claimPendingById(2L)).thenReturn(Optional.of(second));
+        when(orderService.createAll(List.of(first.getPayload()))).thenReturn(List.of(OrderBatchResultDTO.created(0, 500L)));
+        when(orderService.createAll(List.of(second.getPayload()))).thenReturn(List.of(OrderBatchResultDTO.created(0, 501L)));
+        doThrow(new TransactionSystemException("commit failed")).doNothing().when(transactionManager).commit(any());
+
+        assertEquals(2, service.drain());
+
+        assertEquals(2, registry.get(OrderIngestionServiceImpl.PROCESSED_COUNTER).tag("outcome", "done").counter().count());
+    }
+
+    @Test
+    @DisplayName("Given a batch that fails as a whole, should replay it one by one and retry only the failing order later")
+    void drain_WhenBatchFails_ShouldIsolateTheFailingOrder() {
+        OrderIngestion good = ingestion(1L, 1L);
+        OrderIngestion poison = ingestion(2L, 2L);
+        when(repository.claimPending(any(LocalDateTime.class), anyInt())).thenReturn(List.of(good, poison));
+        when(orderService.createAll(List.of(good.getPayload(), poison.getPayload())))
+                .thenThrow(new DataIntegrityViolationException("constraint"));
+        when(repository.claimPendingById(1L)).thenReturn(Optional.of(good));
+        when(repository.claimPendingById(2L)).thenReturn(Optional.of(poison));
+        when(orderService.createAll(List.of(good.getPayload()))).thenReturn(List.of(OrderBatchResultDTO.created(0, 500L)));
+        when(orderService.createAll(List.of(poison.getPayload()))).thenThrow(new DataIntegrityViolationException("constraint"));
+
+        LocalDateTime before = LocalDateTime.now();
+        assertEquals(2, service.drain());
+
+        assertEquals(IngestionStatus.DONE, good.getStatus());
+        assertEquals(IngestionStatus.PENDING, poison.getStatus());
+        assertEquals(1, poison.getAttempts());
+        assertTrue(poison.getNextAttemptAt().isAfter(before.plus(properties.getRetryBackoff()).minusNanos(1)));
+        assertTrue(poison.getError().contains("DataIntegrityViolationException"));
+        verify(repository).save(poison);
+    }
+
+    @Test
+    @DisplayName("Given an order that keeps failing, should mark it as failed after the last attempt")
+    void drain_WhenAttemptsAreExhausted_ShouldRejectIngestion() {
+        properties.setRetryBackoff(Duration.ZERO);
+        OrderIngestion poison = ingestion(2L, 2L);
+        poison.setAttempts(properties.getMaxAttempts() - 1);
+        when(repository.claimPending(any(LocalDateTime.class), anyInt())).thenReturn(List.of(poison));
+        when(orderService.createAll(anyList())).thenThrow(new DataIntegrityViolationException("constraint"));
+        when(repository.claimPendingById(2L)).thenReturn(Optional.of(poison));
+
+        service.drain();
+
+        assertEquals(IngestionStatus.FAILED, poison.getStatus());
+        assertEquals(properties.getMaxAttempts(), poison.getAttempts());
+    }
+
+    @Test
+    @DisplayName("Given an empty queue, should not create orders")
+    void drain_WhenNothingIsDue_ShouldReturnZero() {
+        when(repository.claimPending(any(LocalDateTime.class), anyInt())).thenReturn(List.of());
+
+        assertEquals(0, service.drain());
+        verifyNoInteractions(orderService);
+    }
+}
@@ -0,0 +1,100 @@
+package br.com.order.services;
+
+import br.com.order.application.admin.HotOrderDTO;
+import br.com.order.application.admin.LockOperationStatsDTO;
+import br.com.order.application.admin.LockStatsDTO;
+import br.com.order.application.order.OrderLockMonitor;
+import br.com.order.application.order.OrderLockingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderLockMonitorTest {
+
+    private SimpleMeterRegistry registry;
+    private OrderLockingProperties properties;
+    private OrderLockMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        properties = new OrderLockingProperties();
+        properties.setContentionThreshold(Duration.ofMillis(20));
+        properties.setHotOrders(3);
+        monitor = new OrderLockMonitor(registry, properties);
+    }
+
+    @Test
+    @DisplayName("Should count waits above the threshold and timeouts as contention, per operation")
+    void acquire_ShouldRecordContentionPerOperation() {
+        monitor.acquire("update", 1L, () -> "fast");
+        monitor.acquire("update", 1L, () -> sleep(30));
+        assertThrows(CannotAcquireLockException.class, () -> monitor.acquire("delete", 2L, () -> {
+            throw new CannotAcquireLockException("lock timeout");
+        }));
+
+        LockStatsDTO stats = monitor.stats(10);
+        LockOperationStatsDTO delete = stats.getOperations().get(0);
+        LockOperationStatsDTO update = stats.getOperations().get(1);
+        assertEquals("delete", delete.getOperation());
+        assertEquals(0, delete.getAcquired());
+        assertEquals(1, delete.getTimeouts());
+        assertEquals(1, delete.getContended());
+        assertEquals("update", update.getOperation());
+        assertEquals(2, update.getAcquired());
+        assertEquals(1, update.getContended());
+        assertTrue(update.getMaxWaitMillis() >= 30);
+
+        assertEquals(1, registry.get(OrderLockMonitor.CONTENDED_COUNTER).tag("operation", "update").counter().count());
+        assertEquals(1, registry.get(OrderLockMonitor.WAIT_TIMER).tag("operation", "delete").tag("outcome", "timeout")
+                .timer().count());
+    }
+
+    @Test
+    @DisplayName("Should keep the most contended orders when there are more orders than the sketch capacity")
+    void stats_ShouldReturnMostContendedOrders() {
+        properties.setContentionThreshold(Duration.ZERO);
+        monitor = new OrderLockMonitor(registry, properties);
+        long[] orders = {10, 10, 10, 10, 20, 20, 20, 30, 40, 50, 10, 20, 60};
+        for (long orderId : orders) {
+            monitor.acquire("update", orderId, () -> null);
+        }
+
+        List<HotOrderDTO> hot = monitor.stats(2).getHotOrders();
+        assertEquals(2, hot.size());
+        assertEquals(10L, hot.get(0).getOrderId());
+        assertEquals(5, hot.get(0).getContended());
+        assertEquals(20L, hot.get(1).getOrderId());
+        assertEquals(4, hot.get(1).getContended());
+
+        monitor.resetHotOrders();
+        assertTrue(monitor.stats(2).getHotOrders().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should not treat other exceptions as lock timeouts")
+    void acquire_WhenLookupFailsForOtherReason_ShouldNotRecordTimeout() {
+        assertThrows(IllegalStateException.class, () -> monitor.acquire("update", 1L, () -> {
+            throw new IllegalStateException();
+        }));
+
+        assertTrue(monitor.stats(10).getHotOrders().isEmpty());
+        assertEquals(0, monitor.stats(10).getOperations().get(0).getTimeouts());
+    }
+
+    private Object sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+}
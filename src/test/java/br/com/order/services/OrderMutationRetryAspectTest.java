@@ -0,0 +1,117 @@
+package br.com.order.services;
+
+import br.com.order.application.base.RetryOnConflict;
+import br.com.order.application.order.OrderLockingProperties;
+import br.com.order.application.order.OrderMutationRetryAspect;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderMutationRetryAspectTest {
+
+    static class Mutations {
+        private final AtomicInteger calls = new AtomicInteger();
+        private final int failures;
+        private final Supplier<DataAccessException> conflict;
+
+        Mutations(int failures) {
+            this(failures, () -> new OptimisticLockingFailureException("Order was updated by another transaction"));
+        }
+
+        Mutations(int failures, Supplier<DataAccessException> conflict) {
+            this.failures = failures;
+            this.conflict = conflict;
+        }
+
+        @RetryOnConflict
+        public int mutate() {
+            if (calls.incrementAndGet() <= failures) {
+                throw conflict.get();
+            }
+            return calls.get();
+        }
+    }
+
+    private OrderLockingProperties properties;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new OrderLockingProperties();
+        properties.setRetryBackoff(Duration.ofMillis(1));
+        registry = new SimpleMeterRegistry();
+    }
+
+    private Mutations proxy(Mutations target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addAspect(new OrderMutationRetryAspect(properties, registry));
+        return factory.getProxy();
+    }
+
+    @Test
+    @DisplayName("Given a mutation that loses the optimistic race twice, should retry and succeed")
+    void retry_WhenConflictIsTransient_ShouldRetryUntilSuccess() {
+        Mutations target = new Mutations(2);
+
+        assertEquals(3, proxy(target).mutate());
+    }
+
+    @Test
+    @DisplayName("Given a mutation that keeps conflicting, should give up after the configured retries")
+    void retry_WhenConflictPersists_ShouldPropagateAfterMaxRetries() {
+        Mutations target = new Mutations(Integer.MAX_VALUE);
+
+        assertThrows(OptimisticLockingFailureException.class, () -> proxy(target).mutate());
+        assertEquals(4, target.calls.get());
+    }
+
+    @Test
+    @DisplayName("Given a mutation that cannot acquire the order lock once, should retry and count the retry")
+    void retry_WhenLockIsNotAcquired_ShouldRetryAndRecordMetrics() {
+        Mutations target = new Mutations(1, () -> new CannotAcquireLockException("lock timeout"));
+
+        assertEquals(2, proxy(target).mutate());
+        assertEquals(1, registry.get(OrderMutationRetryAspect.RETRIES_COUNTER)
+                .tag("method", "mutate").tag("exception", "CannotAcquireLockException").counter().count());
+    }
+
+    @Test
+    @DisplayName("Given retries that keep failing, should count the exhausted retries")
+    void retry_WhenRetriesAreExhausted_ShouldRecordMetrics() {
+        Mutations target = new Mutations(Integer.MAX_VALUE, () -> new CannotAcquireLockException("lock timeout"));
+
+        assertThrows(CannotAcquireLockException.class, () -> proxy(target).mutate());
+        assertEquals(3, registry.get(OrderMutationRetryAspect.RETRIES_COUNTER).counter().count());
+        assertEquals(1, registry.get(OrderMutationRetryAspect.EXHAUSTED_COUNTER).counter().count());
+    }
+
+    @Test
+    @DisplayName("The backoff should grow exponentially with jitter and stay below the configured maximum")
+    void backoffMillis_ShouldGrowWithJitterUpToTheMaximum() {
+        properties.setRetryBackoff(Duration.ofMillis(100));
+        properties.setMaxRetryBackoff(Duration.ofMillis(300));
+        OrderMutationRetryAspect aspect = new OrderMutationRetryAspect(properties, registry);
+
+        for (int i = 0; i < 100; i++) {
+            long first = aspect.backoffMillis(1);
+            long second = aspect.backoffMillis(2);
+            long capped = aspect.backoffMillis(10);
+            assertTrue(first >= 50 && first <= 100, "first backoff " + first);
+            assertTrue(second >= 100 && second <= 200, "second backoff " + second);
+            assertTrue(capped >= 150 && capped <= 300, "capped backoff " + capped);
+        }
+    }
+}
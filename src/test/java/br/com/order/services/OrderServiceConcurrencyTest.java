@@ -1,6 +1,14 @@
 package br.com.order.services;
 
+import br.com.order.application.customer.Customer;
+import br.com.order.application.admin.HotOrderDTO;
+import br.com.order.application.admin.LockOperationStatsDTO;
+import br.com.order.application.admin.LockStatsDTO;
+import br.com.order.application.customer.CustomerRepository;
+import br.com.order.application.order.IOrderService;
 import br.com.order.application.order.Order;
+import br.com.order.application.order.OrderDTO;
+import br.com.order.application.order.OrderLockMonitor;
 import br.com.order.application.order.OrderRepository;
 import br.com.order.application.order.OrderStatus;
 import org.junit.jupiter.api.DisplayName;
@@ -8,6 +16,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.test.context.ActiveProfiles;
 
@@ -17,8 +26,11 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @ActiveProfiles("test")
 @SpringBootTest
@@ -31,6 +43,15 @@ class OrderServiceConcurrencyTest {
     @Autowired
     private TransactionalExecutor transactionalExecutor;
 
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private IOrderService orderService;
+
+    @Autowired
+    private OrderLockMonitor lockMonitor;
+
     @Test
     @DisplayName("Deve lançar PessimisticLockingFailureException quando duas transações tentam acessar o mesmo pedido")
     void getOrderById_WhenConcurrentAccess_ShouldThrowPessimisticLockingFailureException() throws Exception {
@@ -70,8 +91,101 @@ class OrderServiceConcurrencyTest {
         executor.shutdown();
     }
 
+    @Test
+    @DisplayName("Deve lançar OptimisticLockingFailureException quando duas transações alteram a mesma versão do pedido")
+    void findForUpdateById_WhenConcurrentModification_ShouldThrowOptimisticLockingFailureException() throws Exception {
+        Order order = transactionalExecutor.execute(() -> createOrder());
+
+        var executor = Executors.newFixedThreadPool(1);
+        var loaded = new CountDownLatch(1);
+        var committed = new CountDownLatch(1);
+
+        Future<Exception> future = executor.submit(() -> {
+            try {
+                transactionalExecutor.execute(() -> {
+                    Order stale = orderRepository.findForUpdateById(order.getId()).orElseThrow();
+                    loaded.countDown();
+                    committed.await(5, TimeUnit.SECONDS);
+                    stale.setUpdatedAt(LocalDateTime.now());
+                    return null;
+                });
+                return null;
+            } catch (Exception e) {
+                return e;
+            }
+        });
+
+        loaded.await(5, TimeUnit.SECONDS);
+        transactionalExecutor.execute(() -> orderRepository.findForUpdateById(order.getId()).orElseThrow());
+        committed.countDown();
+
+        Exception exception = future.get(5, TimeUnit.SECONDS);
+        assertInstanceOf(OptimisticLockingFailureException.class, exception, "Deveria lançar OptimisticLockingFailureException");
+
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Deve ler o pedido sem aguardar o bloqueio de escrita de outra transação")
+    void getOrderById_WhenOrderIsLockedByWriter_ShouldReadWithoutWaiting() throws Exception {
+        Order order = transactionalExecutor.execute(() -> createOrder());
+
+        var executor = Executors.newFixedThreadPool(1);
+        var latch = new CountDownLatch(1);
+
+        Future<Void> writer = executor.submit(() -> {
+            accessOrderWithLock(order.getId(), latch);
+            return null;
+        });
+
+        latch.await();
+        OrderDTO result = orderService.getOrderById(order.getId());
+        assertEquals(order.getId(), result.getId());
+        assertFalse(writer.isDone(), "A leitura deveria terminar antes da transação de escrita");
+
+        writer.get(5, TimeUnit.SECONDS);
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Deve registrar o timeout do bloqueio e concluir a exclusão ao tentar novamente após a liberação do pedido")
+    void delete_WhenOrderIsLockedByWriter_ShouldRecordLockTimeoutAndRetry() throws Exception {
+        Order order = transactionalExecutor.execute(() -> createOrder());
+        LockOperationStatsDTO before = deleteStats(lockMonitor.stats(100));
+
+        var executor = Executors.newFixedThreadPool(1);
+        var latch = new CountDownLatch(1);
+
+        Future<Void> writer = executor.submit(() -> {
+            accessOrderWithLock(order.getId(), latch);
+            return null;
+        });
+
+        latch.await();
+        orderService.delete(order.getId());
+        writer.get(5, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        LockStatsDTO stats = lockMonitor.stats(100);
+        LockOperationStatsDTO delete = deleteStats(stats);
+        assertTrue(delete.getTimeouts() > before.getTimeouts(), "O timeout do bloqueio deveria ser registrado");
+        assertEquals(before.getAcquired() + 1, delete.getAcquired());
+        assertTrue(delete.getMaxWaitMillis() > 0, "O tempo de espera pelo bloqueio deveria ser registrado");
+        assertTrue(stats.getHotOrders().stream().map(HotOrderDTO::getOrderId).anyMatch(order.getId()::equals),
+                "O pedido disputado deveria aparecer entre os mais disputados");
+        assertFalse(transactionalExecutor.execute(() -> orderRepository.existsById(order.getId())));
+    }
+
+    private LockOperationStatsDTO deleteStats(LockStatsDTO stats) {
+        return stats.getOperations().stream()
+                .filter(operation -> operation.getOperation().equals("delete"))
+                .findFirst()
+                .orElseGet(LockOperationStatsDTO::new);
+    }
+
     private Order createOrder() {
         Order order = new Order();
+        order.setCustomer(customerRepository.save(new Customer("Customer concurrency", "47999999999")));
         order.setStatus(OrderStatus.CREATED);
         return orderRepository.save(order);
     }
@@ -86,7 +200,7 @@ class OrderServiceConcurrencyTest {
 
             latch.countDown();
             try {
-                Thread.sleep(2000);
+                Thread.sleep(4000);
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
             }
@@ -1,17 +1,24 @@
 package br.com.order.services;
 
 import br.com.order.application.customer.Customer;
+import br.com.order.application.customer.CustomerReferenceCache;
 import br.com.order.application.customer.CustomerRepository;
 import br.com.order.application.order.*;
+import br.com.order.application.outbox.OrderEventType;
+import br.com.order.application.outbox.OrderOutbox;
 import br.com.order.application.product.Product;
+import br.com.order.application.product.ProductCache;
 import br.com.order.application.product.ProductRepository;
 import br.com.order.exceptions.BadRequestException;
 import br.com.order.exceptions.NotFoundException;
+import br.com.order.exceptions.PreconditionFailedException;
 import br.com.order.exceptions.UniqueConstraintViolationException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.dao.PessimisticLockingFailureException;
@@ -23,6 +30,7 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -49,9 +57,22 @@ class OrderServiceTest {
     @Mock
     private OrderMapper mapper;
 
-    @InjectMocks
+    @Mock
+    private OrderOutbox outbox;
+
+    @Spy
+    private OrderLockingProperties lockingProperties = new OrderLockingProperties();
+
     private OrderServiceImpl orderService;
 
+    @BeforeEach
+    void setUp() {
+        ProductCache productCache = new ProductCache(productRepository, 10_000, Duration.ofMinutes(10));
+        CustomerReferenceCache customerCache = new CustomerReferenceCache(customerRepository, 10_000, Duration.ofMinutes(10));
+        orderService = new OrderServiceImpl(orderRepository, mapper, productCache, customerCache, lockingProperties,
+                new OrderLockMonitor(new SimpleMeterRegistry(), lockingProperties), outbox);
+    }
+
     private static final String ORDER_NOT_FOUND = "Order not found";
     private static final String CUSTOMER_NOT_FOUND = "Customer not found";
     private static final String PRODUCT_NOT_FOUND = "Product %d not found";
@@ -65,13 +86,15 @@ class OrderServiceTest {
         CreateOrderDTO dto = new CreateOrderDTO(List.of(new OrderItemDTO(1L, 2, BigDecimal.TEN)), 1L, BigDecimal.ZERO);
         Customer customer = new Customer("Customer 1", "John Doe");
         Product product = new Product("SKU-1234", "Product 1", BigDecimal.TEN);
+        product.setId(1L);
         when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
-        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(productRepository.findAllById(anyList())).thenReturn(List.of(product));
         when(orderRepository.save(any(Order.class))).thenReturn(new Order());
 
         orderService.create(dto);
 
         verify(orderRepository, times(1)).save(any(Order.class));
+        verify(outbox, times(1)).record(any(Order.class), eq(OrderEventType.CREATED));
     }
 
     @Test
@@ -97,6 +120,137 @@ class OrderServiceTest {
         assertEquals(CUSTOMER_NOT_FOUND, exception.getMessage());
     }
 
+    @Test
+    @DisplayName("Given a batch of valid CreateOrderDTOs, should create all orders in a single saveAll")
+    void createAll_WhenAllValid_ShouldCreateAllOrders() {
+        CreateOrderDTO first = new CreateOrderDTO(List.of(new OrderItemDTO(1L, 2, BigDecimal.TEN)), 1L, BigDecimal.ZERO);
+        CreateOrderDTO second = new CreateOrderDTO(List.of(new OrderItemDTO(1L, 1, BigDecimal.TEN)), 1L, BigDecimal.ZERO);
+        Customer customer = new Customer("Customer 1", "John Doe");
+        customer.setId(1L);
+        Product product = new Product("SKU-1234", "Product 1", BigDecimal.TEN);
+        product.setId(1L);
+        when(customerRepository.findAllById(anySet())).thenReturn(List.of(customer));
+        when(productRepository.findAllById(anyList())).thenReturn(List.of(product));
+        when(orderRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<OrderBatchResultDTO> results = orderService.createAll(List.of(first, second));
+
+        assertEquals(2, results.size());
+        assertTrue(results.stream().allMatch(OrderBatchResultDTO::isSuccess));
+        verify(orderRepository, times(1)).saveAll(anyList());
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
+    @Test
+    @DisplayName("Given a batch with invalid orders, should report the failures and create only the valid orders")
+    void createAll_WhenSomeOrdersInvalid_ShouldReportFailuresPerOrder() {
+        CreateOrderDTO valid = new CreateOrderDTO(List.of(new OrderItemDTO(1L, 2, BigDecimal.TEN)), 1L, BigDecimal.ZERO);
+        CreateOrderDTO unknownCustomer = new CreateOrderDTO(List.of(new OrderItemDTO(1L, 2, BigDecimal.TEN)), 2L, BigDecimal.ZERO);
+        CreateOrderDTO unknownProduct = new CreateOrderDTO(List.of(new OrderItemDTO(3L, 2, BigDecimal.TEN)), 1L, BigDecimal.ZERO);
+        Customer customer = new Customer("Customer 1", "John Doe");
+        customer.setId(1L);
+        Product product = new Product("SKU-1234", "Product 1", BigDecimal.TEN);
+        product.setId(1L);
+        when(customerRepository.findAllById(anySet())).thenReturn(List.of(customer));
+        when(productRepository.findAllById(anyList())).thenReturn(List.of(product));
+        when(orderRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<OrderBatchResultDTO> results = orderService.createAll(List.of(valid, unknownCustomer, unknownProduct));
+
+        assertTrue(results.get(0).isSuccess());
+        assertFalse(results.get(1).isSuccess());
+        assertEquals(List.of(CUSTOMER_NOT_FOUND), results.get(1).getErrors());
+        assertFalse(results.get(2).isSuccess());
+        assertEquals(List.of(String.format(PRODUCT_NOT_FOUND, 3L)), results.get(2).getErrors());
+        verify(orderRepository, times(1)).saveAll(argThat(orders -> ((List<?>) orders).size() == 1));
+    }
+
+    @Test
+    @DisplayName("Given a CreateOrderDTO with several unknown products, should report all of them in one NotFoundException")
+    void create_WhenProductsNotFound_ShouldReportAllMissingProducts() {
+        CreateOrderDTO dto = new CreateOrderDTO(List.of(
+                new OrderItemDTO(1L, 2, BigDecimal.TEN),
+                new OrderItemDTO(2L, 1, BigDecimal.TEN),
+                new OrderItemDTO(3L, 1, BigDecimal.TEN)), 1L, BigDecimal.ZERO);
+        Customer customer = new Customer("Customer 1", "John Doe");
+        Product product = new Product("SKU-1234", "Product 1", BigDecimal.TEN);
+        product.setId(1L);
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
+        when(productRepository.findAllById(anyList())).thenReturn(List.of(product));
+
+        NotFoundException exception = assertThrows(NotFoundException.class, () -> orderService.create(dto));
+        assertEquals("Products [2, 3] not found", exception.getMessage());
+        verify(productRepository, times(1)).findAllById(anyList());
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
+    @Test
+    @DisplayName("Given a CreateOrderDTO with more items than a lookup chunk, should load the products in chunks")
+    void create_WhenManyItems_ShouldLoadProductsInChunks() {
+        List<OrderItemDTO> items = new ArrayList<>();
+        List<Product> products = new ArrayList<>();
+        for (long productId = 1; productId <= 1500; productId++) {
+            items.add(new OrderItemDTO(productId, 1, BigDecimal.ONE));
+            Product product = new Product("SKU-" + productId, "Product " + productId, BigDecimal.ONE);
+            product.setId(productId);
+            products.add(product);
+        }
+        CreateOrderDTO dto = new CreateOrderDTO(items, 1L, BigDecimal.ZERO);
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(new Customer("Customer 1", "John Doe")));
+        when(productRepository.findAllById(anyList()))
+                .thenReturn(products.subList(0, 1000))
+                .thenReturn(products.subList(1000, 1500));
+
+        orderService.create(dto);
+
+        verify(productRepository, times(2)).findAllById(anyList());
+        verify(productRepository, never()).findById(any());
+        verify(orderRepository, times(1)).save(argThat(order -> order.getItems().size() == 1500));
+    }
+
+    @Test
+    @DisplayName("Given products already resolved by a previous order, should use references instead of loading them")
+    void create_WhenProductsAreCached_ShouldUseReferences() {
+        CreateOrderDTO dto = new CreateOrderDTO(List.of(new OrderItemDTO(1L, 2, BigDecimal.TEN)), 1L, BigDecimal.ZERO);
+        Product product = new Product("SKU-1234", "Product 1", BigDecimal.TEN);
+        product.setId(1L);
+        Product reference = new Product();
+        reference.setId(1L);
+        Customer customer = new Customer("Customer 1", "John Doe");
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
+        when(customerRepository.getReferenceById(1L)).thenReturn(customer);
+        when(productRepository.findAllById(anyList())).thenReturn(List.of(product));
+        when(productRepository.getReferenceById(1L)).thenReturn(reference);
+
+        orderService.create(dto);
+        orderService.create(dto);
+
+        verify(productRepository, times(1)).findAllById(anyList());
+        verify(productRepository, times(1)).getReferenceById(1L);
+        verify(orderRepository, times(1)).save(argThat(order -> order.getItems().get(0).getProduct() == product));
+        verify(orderRepository, times(1)).save(argThat(order -> order.getItems().get(0).getProduct() == reference));
+    }
+
+    @Test
+    @DisplayName("Given a customer already resolved by a previous order, should use a reference instead of loading it")
+    void create_WhenCustomerIsKnown_ShouldUseReference() {
+        CreateOrderDTO dto = new CreateOrderDTO(List.of(new OrderItemDTO(1L, 2, BigDecimal.TEN)), 1L, BigDecimal.ZERO);
+        Customer customer = new Customer("Customer 1", "John Doe");
+        customer.setId(1L);
+        Product product = new Product("SKU-1234", "Product 1", BigDecimal.TEN);
+        product.setId(1L);
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
+        when(customerRepository.getReferenceById(1L)).thenReturn(customer);
+        when(productRepository.findAllById(anyList())).thenReturn(List.of(product));
+
+        orderService.create(dto);
+        orderService.create(dto);
+
+        verify(customerRepository, times(1)).findById(1L);
+        verify(customerRepository, times(1)).getReferenceById(1L);
+        verify(orderRepository, times(2)).save(argThat(order -> order.getCustomer() == customer));
+    }
+
     @Test
     @DisplayName("Given a valid UpdateOrderDTO, should update the order successfully")
     void update_WhenValidDto_ShouldUpdateOrderSuccessfully() {
@@ -105,13 +259,46 @@ class OrderServiceTest {
         Order order = new Order(new ArrayList<>(), new Customer("Customer 1", "John Doe"), BigDecimal.ZERO, OrderStatus.CREATED);
         order.setId(orderId);
         Product product = new Product("SKU-123", "Product 1", BigDecimal.valueOf(15.0));
+        product.setId(1L);
         when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
-        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(productRepository.findAllById(anyList())).thenReturn(List.of(product));
         when(customerRepository.findById(1L)).thenReturn(Optional.of(new Customer("Customer 1", "John Doe")));
         when(orderRepository.save(any(Order.class))).thenReturn(order);
 
-        orderService.update(orderId, dto);
+        orderService.update(orderId, dto, null);
+
+        verify(orderRepository, times(1)).save(order);
+        verify(outbox, times(1)).record(order, OrderEventType.UPDATED);
+    }
+
+    @Test
+    @DisplayName("Given an expected version that differs from the order version, should throw PreconditionFailedException")
+    void update_WhenExpectedVersionIsStale_ShouldThrowPreconditionFailedException() {
+        Long orderId = 1L;
+        UpdateOrderDTO dto = new UpdateOrderDTO(null, null, BigDecimal.ONE, null);
+        Order order = new Order(new ArrayList<>(), new Customer("Customer 1", "John Doe"), BigDecimal.ZERO, OrderStatus.CREATED);
+        order.setId(orderId);
+        order.setVersion(3L);
+        when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
+
+        assertThrows(PreconditionFailedException.class, () -> orderService.update(orderId, dto, 2L));
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
+    @Test
+    @DisplayName("Given the optimistic locking mode, should load the order without a row lock")
+    void update_WhenOptimisticMode_ShouldLoadOrderWithoutRowLock() {
+        Long orderId = 1L;
+        UpdateOrderDTO dto = new UpdateOrderDTO(null, null, BigDecimal.ONE, null);
+        Order order = new Order(new ArrayList<>(), new Customer("Customer 1", "John Doe"), BigDecimal.ZERO, OrderStatus.CREATED);
+        order.setId(orderId);
+        order.setVersion(3L);
+        lockingProperties.setMode(OrderLockingProperties.Mode.OPTIMISTIC);
+        when(orderRepository.findForUpdateById(orderId)).thenReturn(Optional.of(order));
 
+        orderService.update(orderId, dto, 3L);
+
+        verify(orderRepository, never()).findById(orderId);
         verify(orderRepository, times(1)).save(order);
     }
 
@@ -124,7 +311,7 @@ class OrderServiceTest {
         order.setId(orderId);
         when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
 
-        BadRequestException exception = assertThrows(BadRequestException.class, () -> orderService.update(orderId, dto));
+        BadRequestException exception = assertThrows(BadRequestException.class, () -> orderService.update(orderId, dto, null));
         assertEquals(String.format(INVALID_STATUS_CHANGE, OrderStatus.SHIPPED, OrderStatus.CREATED), exception.getMessage());
     }
 
@@ -137,7 +324,7 @@ class OrderServiceTest {
         order.setId(orderId);
         when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
 
-        BadRequestException exception = assertThrows(BadRequestException.class, () -> orderService.update(orderId, dto));
+        BadRequestException exception = assertThrows(BadRequestException.class, () -> orderService.update(orderId, dto, null));
         assertEquals(ORDER_ALREADY_PROCESSED, exception.getMessage());
     }
 
@@ -149,13 +336,35 @@ class OrderServiceTest {
         Order order = new Order(new ArrayList<>(), new Customer("Customer 1", "John Doe"), BigDecimal.ZERO, OrderStatus.CREATED);
         order.setId(orderId);
         Product product = new Product("SKU-123", "Product 1", BigDecimal.TEN);
+        product.setId(1L);
         when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
-        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(productRepository.findAllById(anyList())).thenReturn(List.of(product));
         when(orderRepository.save(any(Order.class))).thenReturn(order);
 
-        orderService.addItems(orderId, items);
+        orderService.addItems(orderId, items, null);
 
         verify(orderRepository, times(1)).save(order);
+        verify(outbox, times(1)).record(order, OrderEventType.ITEMS_CHANGED);
+    }
+
+    @Test
+    @DisplayName("Given items added to an order, should refresh the stored subtotal and total")
+    void addItems_WhenValidItems_ShouldRecalculateStoredTotals() {
+        Long orderId = 1L;
+        Product existing = new Product("SKU-123", "Product 1", BigDecimal.TEN);
+        existing.setId(1L);
+        Order order = new Order(new ArrayList<>(List.of(new OrderItem(existing, 1, BigDecimal.TEN))),
+                new Customer("Customer 1", "John Doe"), BigDecimal.valueOf(5), OrderStatus.CREATED);
+        order.setId(orderId);
+        Product product = new Product("SKU-456", "Product 2", BigDecimal.valueOf(7.5));
+        product.setId(2L);
+        when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
+        when(productRepository.findAllById(anyList())).thenReturn(List.of(product));
+
+        orderService.addItems(orderId, List.of(new OrderItemDTO(2L, 2, BigDecimal.valueOf(7.5))), null);
+
+        assertEquals(0, BigDecimal.valueOf(25).compareTo(order.getSubtotal()));
+        assertEquals(0, BigDecimal.valueOf(20).compareTo(order.getTotal()));
     }
 
     @Test
@@ -169,7 +378,7 @@ class OrderServiceTest {
         Order order = new Order(orderItems, new Customer("Customer 1", "John Doe"), BigDecimal.ZERO, OrderStatus.CREATED);
         when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
 
-        UniqueConstraintViolationException exception = assertThrows(UniqueConstraintViolationException.class, () -> orderService.addItems(orderId, items));
+        UniqueConstraintViolationException exception = assertThrows(UniqueConstraintViolationException.class, () -> orderService.addItems(orderId, items, null));
         assertEquals(String.format(DUPLICATE_PRODUCT, 1L), exception.getMessage());
     }
 
@@ -182,7 +391,7 @@ class OrderServiceTest {
         order.setId(orderId);
         when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
 
-        BadRequestException exception = assertThrows(BadRequestException.class, () -> orderService.addItems(orderId, items));
+        BadRequestException exception = assertThrows(BadRequestException.class, () -> orderService.addItems(orderId, items, null));
         assertEquals(ORDER_ALREADY_PROCESSED, exception.getMessage());
     }
 
@@ -198,7 +407,7 @@ class OrderServiceTest {
         when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
         when(orderRepository.save(any(Order.class))).thenReturn(order);
 
-        orderService.updateItem(orderId, productId, dto);
+        orderService.updateItem(orderId, productId, dto, null);
 
         verify(orderRepository, times(1)).save(order);
     }
@@ -213,7 +422,7 @@ class OrderServiceTest {
         order.setId(orderId);
         when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
 
-        NotFoundException exception = assertThrows(NotFoundException.class, () -> orderService.updateItem(orderId, productId, dto));
+        NotFoundException exception = assertThrows(NotFoundException.class, () -> orderService.updateItem(orderId, productId, dto, null));
         assertEquals(String.format(PRODUCT_NOT_FOUND, productId), exception.getMessage());
     }
 
@@ -229,7 +438,7 @@ class OrderServiceTest {
         when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
         when(orderRepository.save(any(Order.class))).thenReturn(order);
 
-        orderService.deleteItem(orderId, productId);
+        orderService.deleteItem(orderId, productId, null);
 
         verify(orderRepository, times(1)).save(order);
     }
@@ -245,7 +454,7 @@ class OrderServiceTest {
         order.setId(orderId);
         when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
 
-        NotFoundException exception = assertThrows(NotFoundException.class, () -> orderService.deleteItem(orderId, 2L));
+        NotFoundException exception = assertThrows(NotFoundException.class, () -> orderService.deleteItem(orderId, 2L, null));
         assertEquals(String.format(PRODUCT_NOT_FOUND, 2L), exception.getMessage());
     }
 
@@ -261,6 +470,7 @@ class OrderServiceTest {
         orderService.delete(orderId);
 
         verify(orderRepository, times(1)).delete(order);
+        verify(outbox, times(1)).record(order, OrderEventType.DELETED);
     }
 
     @Test
@@ -271,6 +481,7 @@ class OrderServiceTest {
 
         NotFoundException exception = assertThrows(NotFoundException.class, () -> orderService.delete(orderId));
         assertEquals(ORDER_NOT_FOUND, exception.getMessage());
+        verifyNoInteractions(outbox);
     }
 
     @Test
@@ -296,6 +507,35 @@ class OrderServiceTest {
         verify(orderRepository, times(1)).findAll(any(Specification.class), eq(pageable));
     }
 
+    @Test
+    @DisplayName("Given more orders than the slice size, should return the slice with a cursor to the last order")
+    void scrollOrders_WhenMoreOrdersThanSize_ShouldReturnNextCursor() {
+        List<Order> orders = new ArrayList<>();
+        for (long id = 1; id <= 3; id++) {
+            Order order = new Order(Collections.emptyList(), new Customer("Customer 1", "John Doe"), BigDecimal.ZERO, OrderStatus.CREATED);
+            order.setId(id);
+            order.setCreatedAt(LocalDateTime.of(2025, 1, 1, 10, 0).plusMinutes(id));
+            orders.add(order);
+        }
+        when(orderRepository.findBy(any(Specification.class), any())).thenReturn(orders);
+
+        OrderSliceDTO result = orderService.scrollOrders(null, null, null, null, 2);
+
+        assertEquals(2, result.getSize());
+        assertTrue(result.isHasNext());
+        assertEquals(new OrderCursor(orders.get(1).getCreatedAt(), 2L), OrderCursor.decode(result.getNextCursor()));
+        verify(orderRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Given a malformed cursor, should throw BadRequestException when scrolling orders")
+    void scrollOrders_WhenInvalidCursor_ShouldThrowBadRequestException() {
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> orderService.scrollOrders(null, null, null, "not-a-cursor", 10));
+        assertEquals(OrderCursor.INVALID_CURSOR, exception.getMessage());
+        verify(orderRepository, never()).findBy(any(Specification.class), any());
+    }
+
     @Test
     @DisplayName("Given a valid order ID, should return the OrderDTO")
     void getOrderById_WhenValidId_ShouldReturnOrderDto() {
@@ -303,37 +543,41 @@ class OrderServiceTest {
         Order order = new Order(Collections.emptyList(), new Customer("Customer 1", "John Doe"), BigDecimal.ZERO, OrderStatus.CREATED);
         order.setId(orderId);
         OrderDTO orderDTO = new OrderDTO(1L, Collections.emptyList(), 1L, BigDecimal.ZERO,
-                OrderStatus.CREATED, BigDecimal.ZERO, LocalDateTime.now(), LocalDateTime.now());
+                OrderStatus.CREATED, BigDecimal.ZERO, LocalDateTime.now(), LocalDateTime.now(), 0L);
         orderDTO.setId(orderId);
-        when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
+        when(orderRepository.findWithItemsById(orderId)).thenReturn(Optional.of(order));
         when(mapper.toOrder(order)).thenReturn(orderDTO);
 
         OrderDTO result = orderService.getOrderById(orderId);
 
         assertNotNull(result);
         assertEquals(orderDTO, result);
-        verify(orderRepository, times(1)).findById(orderId);
+        verify(orderRepository, times(1)).findWithItemsById(orderId);
     }
 
     @Test
     @DisplayName("Given a non-existing order ID, should throw NotFoundException when getting order by ID")
     void getOrderById_WhenOrderNotFound_ShouldThrowNotFoundException() {
         Long orderId = 1L;
-        when(orderRepository.findById(orderId)).thenReturn(Optional.empty());
+        when(orderRepository.findWithItemsById(orderId)).thenReturn(Optional.empty());
 
         NotFoundException exception = assertThrows(NotFoundException.class, () -> orderService.getOrderById(orderId));
         assertEquals(ORDER_NOT_FOUND, exception.getMessage());
     }
 
     @Test
-    @DisplayName("Should throw PessimisticLockException when order is locked")
-    void getOrderById_WhenOrderIsLocked_ShouldThrowPessimisticLockException() {
+    @DisplayName("Getting an order should not go through the pessimistically locked findById")
+    void getOrderById_WhenOrderIsLocked_ShouldNotUseLockingFind() {
         Long orderId = 1L;
-
+        Order order = new Order(Collections.emptyList(), new Customer("Customer 1", "John Doe"), BigDecimal.ZERO, OrderStatus.CREATED);
+        order.setId(orderId);
         when(orderRepository.findById(orderId)).thenThrow(new PessimisticLockingFailureException("Order is locked"));
+        when(orderRepository.findWithItemsById(orderId)).thenReturn(Optional.of(order));
+        when(mapper.toOrder(order)).thenReturn(new OrderDTO());
 
-        assertThrows(PessimisticLockingFailureException.class, () -> orderService.getOrderById(orderId));
+        assertDoesNotThrow(() -> orderService.getOrderById(orderId));
 
-        verify(orderRepository, times(1)).findById(orderId);
+        verify(orderRepository, never()).findById(orderId);
+        verify(orderRepository, times(1)).findWithItemsById(orderId);
     }
 }
@@ -0,0 +1,62 @@
+package br.com.order.services;
+
+import br.com.order.application.order.Order;
+import br.com.order.application.order.OrderItem;
+import br.com.order.application.order.OrderRepository;
+import br.com.order.application.order.OrderTotalsBackfill;
+import br.com.order.application.product.Product;
+import br.com.order.application.product.ProductRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureTestDatabase
+class OrderTotalsBackfillTest {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionalExecutor transactionalExecutor;
+
+    @Test
+    @DisplayName("Given orders without stored totals, the backfill should compute them from the items")
+    void run_WhenTotalsMissing_ShouldComputeTotalsFromItems() throws Exception {
+        Long orderId = transactionalExecutor.execute(() -> {
+            Order order = new Order();
+            order.setDiscount(BigDecimal.valueOf(5));
+            order.addItem(new OrderItem(productRepository.save(new Product("SKU-BACKFILL", "Product 1", BigDecimal.TEN)),
+                    3, BigDecimal.TEN));
+            order.addItem(new OrderItem(productRepository.save(new Product("SKU-BACKFILL-2", "Product 2", BigDecimal.ONE)),
+                    2, BigDecimal.ONE));
+            return orderRepository.save(order).getId();
+        });
+        jdbcTemplate.update("UPDATE orders SET subtotal = 0, total = 0 WHERE id = ?", orderId);
+
+        OrderTotalsBackfill backfill = new OrderTotalsBackfill(jdbcTemplate);
+        ReflectionTestUtils.setField(backfill, "batchSize", 1);
+        backfill.run(null);
+
+        assertEquals(0, BigDecimal.valueOf(32).compareTo(
+                jdbcTemplate.queryForObject("SELECT subtotal FROM orders WHERE id = ?", BigDecimal.class, orderId)));
+        assertEquals(0, BigDecimal.valueOf(27).compareTo(
+                jdbcTemplate.queryForObject("SELECT total FROM orders WHERE id = ?", BigDecimal.class, orderId)));
+    }
+}
@@ -0,0 +1,73 @@
+package br.com.order.services;
+
+import br.com.order.application.product.CreateProductDTO;
+import br.com.order.application.product.IProductService;
+import br.com.order.application.product.ProductRepository;
+import br.com.order.exceptions.UniqueConstraintViolationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureTestDatabase
+class ProductServiceConcurrencyTest {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private IProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    @DisplayName("Concurrent creations with the same SKU should store one product and return a conflict to the others")
+    void create_WhenConcurrentRequestsWithSameSku_ShouldCreateOnlyOne() throws Exception {
+        var executor = Executors.newFixedThreadPool(THREADS);
+        var start = new CountDownLatch(1);
+        List<Future<Exception>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            CreateProductDTO dto = new CreateProductDTO("SKU-RACE", "Product " + i, BigDecimal.TEN);
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    productService.create(dto);
+                    return null;
+                } catch (Exception e) {
+                    return e;
+                }
+            }));
+        }
+        start.countDown();
+
+        int created = 0;
+        for (Future<Exception> future : futures) {
+            Exception exception = future.get(10, TimeUnit.SECONDS);
+            if (exception == null) {
+                created++;
+            } else {
+                assertInstanceOf(UniqueConstraintViolationException.class, exception);
+                assertEquals("SKU 'SKU-RACE' already exists", exception.getMessage());
+            }
+        }
+        executor.shutdown();
+
+        assertEquals(1, created);
+        assertEquals(1, productRepository.findAllBySkuIgnoreCase(List.of("sku-race")).size());
+    }
+}
@@ -3,12 +3,14 @@ package br.com.order.services;
 import br.com.order.application.product.*;
 import br.com.order.exceptions.NotFoundException;
 import br.com.order.exceptions.UniqueConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -16,6 +18,8 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -33,36 +37,55 @@ class ProductServiceImplTest {
     @Mock
     private ProductMapper mapper;
 
-    @InjectMocks
     private ProductServiceImpl service;
 
+    private static DataIntegrityViolationException violation(String constraintName) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("Unique index violation", new SQLException(), constraintName));
+    }
+
+    @BeforeEach
+    void setUp() {
+        service = new ProductServiceImpl(repository, mapper, new ProductCache(repository, 100, Duration.ofMinutes(10)));
+    }
+
     @Test
     @DisplayName("Given a valid CreateProductDTO with unique SKU, should create a product successfully")
     void create_WhenValidDtoAndUniqueSku_ShouldCreateProductSuccessfully() {
         CreateProductDTO dto = new CreateProductDTO("SKU123", "Product1", BigDecimal.TEN);
         Product product = new Product("SKU123", "Product1", BigDecimal.TEN);
-        when(repository.existsBySku(dto.getSku())).thenReturn(false);
         when(mapper.create(dto)).thenReturn(product);
 
         service.create(dto);
 
-        verify(repository, times(1)).existsBySku(dto.getSku());
         verify(mapper, times(1)).create(dto);
-        verify(repository, times(1)).save(product);
+        verify(repository, times(1)).saveAndFlush(product);
     }
 
     @Test
     @DisplayName("Given a CreateProductDTO with existing SKU, should throw UniqueConstraintViolationException")
     void create_WhenSkuExists_ShouldThrowUniqueConstraintViolationException() {
         CreateProductDTO dto = new CreateProductDTO("SKU123", "Product1", BigDecimal.TEN);
-        when(repository.existsBySku(dto.getSku())).thenReturn(true);
+        Product product = new Product("SKU123", "Product1", BigDecimal.TEN);
+        when(mapper.create(dto)).thenReturn(product);
+        when(repository.saveAndFlush(product)).thenThrow(violation("PUBLIC.UC_PRODUCTS_SKU_INDEX_8"));
 
         UniqueConstraintViolationException exception = assertThrows(UniqueConstraintViolationException.class,
                 () -> service.create(dto));
         assertEquals("SKU 'SKU123' already exists", exception.getMessage());
-        verify(repository, times(1)).existsBySku(dto.getSku());
-        verify(mapper, never()).create(any());
-        verify(repository, never()).save(any());
+        verify(repository, times(1)).saveAndFlush(product);
+    }
+
+    @Test
+    @DisplayName("Given a CreateProductDTO violating another constraint, should rethrow the DataIntegrityViolationException")
+    void create_WhenOtherConstraintIsViolated_ShouldRethrowException() {
+        CreateProductDTO dto = new CreateProductDTO("SKU123", "Product1", BigDecimal.TEN);
+        Product product = new Product("SKU123", "Product1", BigDecimal.TEN);
+        DataIntegrityViolationException violation = violation("pk_products");
+        when(mapper.create(dto)).thenReturn(product);
+        when(repository.saveAndFlush(product)).thenThrow(violation);
+
+        assertSame(violation, assertThrows(DataIntegrityViolationException.class, () -> service.create(dto)));
     }
 
     @Test
@@ -77,9 +100,8 @@ class ProductServiceImplTest {
         service.update(id, dto);
 
         verify(repository, times(1)).findById(id);
-        verify(repository, times(0)).existsBySku(dto.getSku());
         verify(mapper, times(1)).update(existingProduct, dto);
-        verify(repository, times(1)).save(existingProduct);
+        verify(repository, times(1)).saveAndFlush(existingProduct);
     }
 
     @Test
@@ -90,14 +112,12 @@ class ProductServiceImplTest {
         Product existingProduct = new Product("SKU123", "Product1", BigDecimal.TEN);
         existingProduct.setId(id);
         when(repository.findById(id)).thenReturn(Optional.of(existingProduct));
-        when(repository.existsBySku(dto.getSku())).thenReturn(false);
 
         service.update(id, dto);
 
         verify(repository, times(1)).findById(id);
-        verify(repository, times(1)).existsBySku(dto.getSku());
         verify(mapper, times(1)).update(existingProduct, dto);
-        verify(repository, times(1)).save(existingProduct);
+        verify(repository, times(1)).saveAndFlush(existingProduct);
     }
 
     @Test
@@ -108,15 +128,13 @@ class ProductServiceImplTest {
         Product existingProduct = new Product("SKU123", "Product1", BigDecimal.TEN);
         existingProduct.setId(id);
         when(repository.findById(id)).thenReturn(Optional.of(existingProduct));
-        when(repository.existsBySku(dto.getSku())).thenReturn(true);
+        when(repository.saveAndFlush(existingProduct)).thenThrow(violation("uc_products_sku_lower"));
 
         UniqueConstraintViolationException exception = assertThrows(UniqueConstraintViolationException.class,
                 () -> service.update(id, dto));
         assertEquals("SKU 'SKU456' already exists", exception.getMessage());
         verify(repository, times(1)).findById(id);
-        verify(repository, times(1)).existsBySku(dto.getSku());
-        verify(mapper, never()).update(any(), any());
-        verify(repository, never()).save(any());
+        verify(repository, times(1)).saveAndFlush(existingProduct);
     }
 
     @Test
@@ -129,9 +147,8 @@ class ProductServiceImplTest {
         NotFoundException exception = assertThrows(NotFoundException.class, () -> service.update(id, dto));
         assertEquals("Product not found", exception.getMessage());
         verify(repository, times(1)).findById(id);
-        verify(repository, never()).existsBySku(any());
         verify(mapper, never()).update(any(), any());
-        verify(repository, never()).save(any());
+        verify(repository, never()).saveAndFlush(any());
     }
 
     @Test
@@ -140,16 +157,50 @@ class ProductServiceImplTest {
         Long id = 1L;
         Product product = new Product("SKU123", "Product1", BigDecimal.TEN);
         product.setId(id);
-        ProductDTO productDTO = new ProductDTO(id, "SKU123", "Product1", BigDecimal.TEN, LocalDateTime.now(), LocalDateTime.now());
         when(repository.findById(id)).thenReturn(Optional.of(product));
-        when(mapper.productToProductDTO(product)).thenReturn(productDTO);
 
         ProductDTO result = service.findById(id);
 
         assertNotNull(result);
-        assertEquals(productDTO, result);
+        assertEquals(id, result.getId());
+        assertEquals("SKU123", result.getSku());
+        assertEquals("Product1", result.getName());
+        assertEquals(BigDecimal.TEN, result.getPrice());
         verify(repository, times(1)).findById(id);
-        verify(mapper, times(1)).productToProductDTO(product);
+    }
+
+    @Test
+    @DisplayName("Given a product already read, should serve a copy of it from the cache")
+    void findById_WhenCalledTwice_ShouldQueryRepositoryOnce() {
+        Long id = 1L;
+        Product product = new Product("SKU123", "Product1", BigDecimal.TEN);
+        product.setId(id);
+        when(repository.findById(id)).thenReturn(Optional.of(product));
+
+        ProductDTO first = service.findById(id);
+        first.setName("Changed by the first caller");
+        product.setName("Changed in the loading session");
+        ProductDTO second = service.findById(id);
+
+        assertNotSame(first, second);
+        assertEquals("Product1", second.getName());
+        verify(repository, times(1)).findById(id);
+    }
+
+    @Test
+    @DisplayName("Given a cached product, update should evict it so the next read reloads it")
+    void update_WhenProductIsCached_ShouldEvictIt() {
+        Long id = 1L;
+        UpdateProductDTO dto = new UpdateProductDTO("SKU123", "Updated Product", BigDecimal.valueOf(15.0));
+        Product product = new Product("SKU123", "Product1", BigDecimal.TEN);
+        product.setId(id);
+        when(repository.findById(id)).thenReturn(Optional.of(product));
+
+        service.findById(id);
+        service.update(id, dto);
+        service.findById(id);
+
+        verify(repository, times(3)).findById(id);
     }
 
     @Test
@@ -199,8 +250,7 @@ class ProductServiceImplTest {
         product.setId(1L);
         ProductDTO productDTO = new ProductDTO(1L, "SKU123", "Product1", BigDecimal.TEN, LocalDateTime.now(), LocalDateTime.now());
         Page<Product> productPage = new PageImpl<>(List.of(product), pageable, 1);
-        when(repository.findByNameContainsIgnoreCaseOrSkuContainsIgnoreCase(search, search, pageable))
-                .thenReturn(productPage);
+        when(repository.search(search, pageable)).thenReturn(productPage);
         when(mapper.productToProductDTO(product)).thenReturn(productDTO);
 
         Page<ProductDTO> result = service.findBySearch(search, pageable);
@@ -208,8 +258,20 @@ class ProductServiceImplTest {
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
         assertEquals(productDTO, result.getContent().get(0));
-        verify(repository, times(1))
-                .findByNameContainsIgnoreCaseOrSkuContainsIgnoreCase(search, search, pageable);
+        verify(repository, times(1)).search(search, pageable);
         verify(mapper, times(1)).productToProductDTO(product);
     }
+
+    @Test
+    @DisplayName("Given a blank search term, should list the products without filtering")
+    void findBySearch_WhenSearchIsBlank_ShouldFindAll() {
+        Pageable pageable = PageRequest.of(0, 10);
+        when(repository.findAll(pageable)).thenReturn(Page.empty(pageable));
+
+        Page<ProductDTO> result = service.findBySearch(" ", pageable);
+
+        assertEquals(0, result.getTotalElements());
+        verify(repository, times(1)).findAll(pageable);
+        verify(repository, never()).search(any(), any());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,81 @@
+package br.com.order.services;
+
+import br.com.order.application.product.CreateProductDTO;
+import br.com.order.application.product.IProductImportService;
+import br.com.order.application.product.IProductService;
+import br.com.order.application.product.ProductImportFormat;
+import br.com.order.application.product.ProductDTO;
+import br.com.order.application.product.ProductImportReportDTO;
+import br.com.order.application.product.ProductRepository;
+import br.com.order.application.product.UpdateProductDTO;
+import br.com.order.exceptions.UniqueConstraintViolationException;
+import br.com.order.repositories.PostgresTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * The {@code lower(sku)} unique index of V9 only exists on PostgreSQL.
+ */
+class ProductSkuCaseInsensitiveTest extends PostgresTest {
+
+    @Autowired
+    private IProductService productService;
+
+    @Autowired
+    private IProductImportService importService;
+
+    @Autowired
+    private ProductRepository repository;
+
+    @Test
+    @DisplayName("Creating a product whose SKU differs from an existing one only in case should return a conflict")
+    void create_WhenSkuDiffersOnlyInCase_ShouldThrowUniqueConstraintViolation() {
+        productService.create(new CreateProductDTO("sku-case-create", "Keyboard", BigDecimal.TEN));
+
+        UniqueConstraintViolationException exception = assertThrows(UniqueConstraintViolationException.class,
+                () -> productService.create(new CreateProductDTO("SKU-CASE-CREATE", "Keyboard", BigDecimal.TEN)));
+        assertEquals("SKU 'SKU-CASE-CREATE' already exists", exception.getMessage());
+        assertEquals(1, repository.findAllBySkuIgnoreCase(List.of("sku-case-create")).size());
+    }
+
+    @Test
+    @DisplayName("Updating a product to the SKU of another one in a different case should return a conflict")
+    void update_WhenSkuDiffersOnlyInCase_ShouldThrowUniqueConstraintViolation() {
+        productService.create(new CreateProductDTO("sku-case-update", "Keyboard", BigDecimal.TEN));
+        productService.create(new CreateProductDTO("sku-case-other", "Mouse", BigDecimal.ONE));
+        Long id = repository.findAllBySkuIgnoreCase(List.of("sku-case-other")).get(0).getId();
+
+        assertThrows(UniqueConstraintViolationException.class,
+                () -> productService.update(id, new UpdateProductDTO("Sku-Case-Update", "Mouse", BigDecimal.ONE)));
+        assertEquals("sku-case-other", repository.findById(id).orElseThrow().getSku());
+    }
+
+    @Test
+    @DisplayName("Importing a SKU in another case should update the existing product and keep its SKU")
+    void importProducts_WhenSkuDiffersOnlyInCase_ShouldUpdateExistingProduct() throws Exception {
+        productService.create(new CreateProductDTO("sku-case-import", "Keyboard", BigDecimal.TEN));
+        String csv = """
+                sku,name,price
+                SKU-CASE-IMPORT,Mechanical keyboard,12.50
+                """;
+
+        ProductImportReportDTO report = importService.importProducts(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), ProductImportFormat.CSV);
+
+        assertEquals(0, report.getCreated());
+        assertEquals(1, report.getUpdated());
+        List<ProductDTO> products = repository.findAllBySkuIgnoreCase(List.of("sku-case-import"));
+        assertEquals(1, products.size());
+        assertEquals("sku-case-import", products.get(0).getSku());
+        assertEquals("Mechanical keyboard", products.get(0).getName());
+    }
+}